@@ -2,6 +2,8 @@ package com.civicbridge.config;
 
 import com.civicbridge.model.User;
 import com.civicbridge.repository.jpa.UserRepository;
+import com.civicbridge.service.HealthcareService;
+import com.civicbridge.service.ProgramService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
@@ -17,6 +19,8 @@ public class DataInitializer implements CommandLineRunner {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final HealthcareService healthcareService;
+    private final ProgramService programService;
 
     @Value("${spring.application.admin.username}")
     private String adminUsername;
@@ -41,5 +45,8 @@ public class DataInitializer implements CommandLineRunner {
                     admin.setRoles(new HashSet<>(Collections.singletonList(com.civicbridge.model.Role.ROLE_ADMIN)));
                     userRepository.save(admin);
                 });
+
+        healthcareService.backfillDerivedFields();
+        programService.backfillDerivedFields();
     }
 }
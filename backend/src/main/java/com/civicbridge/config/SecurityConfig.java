@@ -1,10 +1,14 @@
 package com.civicbridge.config;
 
+import com.civicbridge.security.BoundedPasswordEncoder;
 import com.civicbridge.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -14,6 +18,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -28,9 +33,24 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Value("${auth.password-hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${auth.password-hashing.threads:2}")
+    private int hashingThreads;
+
+    @Value("${auth.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${auth.password-hashing.queue-deadline-ms:2000}")
+    private long hashingQueueDeadlineMillis;
+
+    // Hashes run on their own small pool so a burst of logins cannot take every request thread.
+    // Raising the strength rehashes each user's password on their next successful login.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), hashingThreads,
+                hashingQueueCapacity, hashingQueueDeadlineMillis, meterRegistry);
     }
 
     @Bean
@@ -44,12 +64,20 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // 401 rather than the default 403 so clients know to refresh an expired access token
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (streamed exports) were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/auth/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/ws/**").permitAll()
                         .requestMatchers("/stats/**").authenticated()
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/programs/**").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/healthcare/**").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/sync/**").permitAll()
                         // .requestMatchers("/programs/**").hasRole("ADMIN") // Removed in favor of
                         // @PreAuthorize
                         // .requestMatchers("/healthcare/**").hasRole("ADMIN") // Removed in favor of
@@ -2,7 +2,7 @@ package com.civicbridge.controller;
 
 import com.civicbridge.dto.ApiResponse;
 import com.civicbridge.dto.ApplicationRequest;
-import com.civicbridge.model.Application;
+import com.civicbridge.dto.ApplicationSummary;
 import com.civicbridge.service.ApplicationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,10 +23,10 @@ public class ApplicationController {
 
     @PostMapping
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<ApiResponse<Application>> submitApplication(
+    public ResponseEntity<ApiResponse<ApplicationSummary>> submitApplication(
             @RequestBody ApplicationRequest applicationRequest) {
         try {
-            Application application = applicationService.submitApplication(applicationRequest);
+            ApplicationSummary application = applicationService.submitApplication(applicationRequest);
             return ResponseEntity.ok(ApiResponse.success("Application submitted successfully", application));
         } catch (Exception e) {
             log.error("Error submitting application: {}", e.getMessage());
@@ -37,9 +37,9 @@ public class ApplicationController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<Application>>> getMyApplications() {
+    public ResponseEntity<ApiResponse<List<ApplicationSummary>>> getMyApplications() {
         try {
-            List<Application> applications = applicationService.getMyApplications();
+            List<ApplicationSummary> applications = applicationService.getMyApplications();
             return ResponseEntity.ok(ApiResponse.success(applications));
         } catch (Exception e) {
             log.error("Error fetching applications: {}", e.getMessage());
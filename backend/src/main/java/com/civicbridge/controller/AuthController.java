@@ -3,16 +3,26 @@ package com.civicbridge.controller;
 import com.civicbridge.dto.ApiResponse;
 import com.civicbridge.dto.AuthResponse;
 import com.civicbridge.dto.LoginRequest;
+import com.civicbridge.dto.RefreshTokenRequest;
 import com.civicbridge.dto.RegisterRequest;
+import com.civicbridge.exception.TooManyRequestsException;
 import com.civicbridge.model.User;
 import com.civicbridge.security.JwtTokenProvider;
+import com.civicbridge.security.LoginThrottle;
+import com.civicbridge.security.TokenRevocationService;
 import com.civicbridge.service.AuthService;
+import com.civicbridge.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,12 +35,19 @@ public class AuthController {
     private final AuthService authService;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginThrottle loginThrottle;
 
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<User>> register(@RequestBody RegisterRequest request) {
+    public ResponseEntity<ApiResponse<User>> register(@RequestBody RegisterRequest request,
+            HttpServletRequest httpRequest) {
         try {
+            loginThrottle.checkRegistration(httpRequest.getRemoteAddr());
             User user = authService.register(request);
             return ResponseEntity.ok(ApiResponse.success("User registered successfully", user));
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
             log.error("Registration error: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -39,20 +56,73 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@RequestBody LoginRequest request) {
+    public ResponseEntity<ApiResponse<AuthResponse>> login(@RequestBody LoginRequest request,
+            HttpServletRequest httpRequest) {
         try {
+            loginThrottle.checkLogin(httpRequest.getRemoteAddr(), request.getUsername());
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            String token = jwtTokenProvider.generateToken(authentication);
+            loginThrottle.recordSuccess(request.getUsername());
             User user = authService.findByUsernameOrEmail(request.getUsername());
 
-            return ResponseEntity.ok(ApiResponse.success("Login successful", new AuthResponse(token, user)));
+            return ResponseEntity.ok(ApiResponse.success("Login successful",
+                    authResponse(user, refreshTokenService.issue(user))));
+        } catch (TooManyRequestsException e) {
+            // Also thrown by a saturated password encoder, which the authentication provider calls outside the
+            // block that wraps exceptions; the password check never ran, so it is not a failed attempt
+            log.warn("Login throttled for user {}: {}", request.getUsername(), e.getMessage());
+            return tooManyRequests(e);
+        } catch (AuthenticationException e) {
+            loginThrottle.recordFailure(request.getUsername());
+            log.error("Login error for user {}: {}", request.getUsername(), e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Invalid credentials"));
         } catch (Exception e) {
             log.error("Login error for user {}: {}", request.getUsername(), e.getMessage());
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Invalid credentials"));
         }
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<AuthResponse>> refresh(@RequestBody RefreshTokenRequest request) {
+        try {
+            // The user is reloaded, so the new access token carries their current roles
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+            return ResponseEntity.ok(ApiResponse.success("Token refreshed",
+                    authResponse(rotation.user(), rotation.refreshToken())));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            Claims claims = jwtTokenProvider.parseClaims(authorization.substring(7));
+            if (claims != null) {
+                tokenRevocationService.revoke(claims);
+            }
+        }
+        if (request != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+        return ResponseEntity.ok(ApiResponse.success("Logged out", null));
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> tooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.error(e.getMessage()));
+    }
+
+    private AuthResponse authResponse(User user, String refreshToken) {
+        String accessToken = jwtTokenProvider.generateToken(user);
+        return new AuthResponse(accessToken, jwtTokenProvider.getAccessTokenTtlMillis() / 1000, refreshToken, user);
+    }
 }
@@ -0,0 +1,135 @@
+package com.civicbridge.controller;
+
+import com.civicbridge.service.CatalogPayloadCache;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+// Turns a pre-rendered catalog payload into a response, honouring Accept, If-None-Match and Accept-Encoding
+final class CatalogResponses {
+
+    static final String CATALOG_VERSION_HEADER = "X-Catalog-Version";
+    private static final String GZIP_ETAG_SUFFIX = "-gz";
+
+    private CatalogResponses() {
+    }
+
+    static ResponseEntity<byte[]> of(CatalogPayloadCache.Payload payload, String ifNoneMatch,
+            String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding) && payload.gzip().length < payload.body().length;
+        // The gzip bytes are a different representation, so they get a strong validator of their own
+        String etag = gzip ? gzipEtag(payload.etag()) : payload.etag();
+
+        if (matches(ifNoneMatch, payload.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .header(CATALOG_VERSION_HEADER, String.valueOf(payload.version()))
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(payload.format().mediaType())
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .header(CATALOG_VERSION_HEADER, String.valueOf(payload.version()));
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? payload.gzip() : payload.body());
+    }
+
+    // Picks the binary format only when the client names it explicitly; wildcards get JSON
+    static CatalogPayloadCache.Format negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return CatalogPayloadCache.Format.JSON;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return CatalogPayloadCache.Format.JSON;
+        }
+        acceptable.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : acceptable) {
+            if (type.isWildcardType() || type.isWildcardSubtype() || type.getQualityValue() == 0) {
+                continue;
+            }
+            for (CatalogPayloadCache.Format format : CatalogPayloadCache.Format.values()) {
+                if (format.mediaType().isCompatibleWith(type)) {
+                    return format;
+                }
+            }
+        }
+        return CatalogPayloadCache.Format.JSON;
+    }
+
+    // Whether gzip has a non-zero q-value, named or through "*"; a named coding overrides the wildcard
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = qualityOf(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? quality : Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        Double quality = gzip != null ? gzip : wildcard;
+        return quality != null && quality > 0;
+    }
+
+    private static double qualityOf(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    // "abc" becomes "abc-gz"
+    static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX + "\"";
+    }
+
+    // Either variant's tag names the same content, so a client holding one need not download the other
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String gzipEtag = gzipEtag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package com.civicbridge.controller;
+
+import com.civicbridge.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportService exportService;
+
+    @GetMapping("/programs")
+    public ResponseEntity<StreamingResponseBody> exportPrograms(@RequestParam(defaultValue = "false") boolean gzip) {
+        return stream("programs", gzip, exportService::exportPrograms);
+    }
+
+    @GetMapping("/healthcare")
+    public ResponseEntity<StreamingResponseBody> exportFacilities(
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return stream("healthcare-facilities", gzip, exportService::exportFacilities);
+    }
+
+    @GetMapping("/query-history")
+    public ResponseEntity<StreamingResponseBody> exportQueryHistory(
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return stream("query-history", gzip, exportService::exportQueryHistory);
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, boolean gzip, Consumer<OutputStream> exporter) {
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                exporter.accept(compressed);
+                compressed.finish();
+            } else {
+                exporter.accept(out);
+            }
+            out.flush();
+        };
+
+        String filename = name + (gzip ? ".ndjson.gz" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -1,12 +1,25 @@
 package com.civicbridge.controller;
 
 import com.civicbridge.dto.ApiResponse;
+import com.civicbridge.dto.CursorPage;
+import com.civicbridge.dto.FacilityCluster;
+import com.civicbridge.dto.ImportResult;
+import com.civicbridge.dto.NearbyFacility;
 import com.civicbridge.model.HealthcareFacility;
+import com.civicbridge.service.CatalogImporter;
+import com.civicbridge.service.CatalogPayloadCache;
 import com.civicbridge.service.HealthcareService;
+import com.civicbridge.service.hours.OperatingHours;
 import lombok.RequiredArgsConstructor;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,20 +28,35 @@ import java.util.List;
 public class HealthcareController {
 
     private final HealthcareService healthcareService;
+    private final CatalogPayloadCache catalogPayloadCache;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<HealthcareFacility>>> getAllFacilities(
+    public ResponseEntity<?> getAllFacilities(
             @RequestParam(required = false) String type,
-            @RequestParam(required = false) Boolean freeServices) {
+            @RequestParam(required = false) Boolean freeServices,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openAt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
             // Normalize empty strings to null
             String normalizedType = (type != null && !type.isEmpty()) ? type : null;
             // Normalize false to null (UI treats unchecked as "show all")
             Boolean normalizedFreeServices = (freeServices != null && freeServices) ? true : null;
 
-            List<HealthcareFacility> facilities = healthcareService.getFacilitiesWithCriteria(normalizedType,
-                    normalizedFreeServices);
-            return ResponseEntity.ok(ApiResponse.success(facilities));
+            int pageSize = CursorPage.clampSize(size);
+
+            // Requests within the same 5-minute schedule slot share a cache entry
+            Integer openSlot = openAt != null ? OperatingHours.slotOf(openAt) : null;
+            String key = normalizedType + "|" + normalizedFreeServices + "|" + openSlot + "|" + cursor + "|"
+                    + pageSize;
+            CatalogPayloadCache.Payload payload = catalogPayloadCache.get(CatalogPayloadCache.Catalog.HEALTHCARE,
+                    key, CatalogResponses.negotiate(accept),
+                    () -> ApiResponse.success(healthcareService.getFacilitiesPage(normalizedType,
+                            normalizedFreeServices, openAt, cursor, pageSize)));
+            return CatalogResponses.of(payload, ifNoneMatch, acceptEncoding);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
@@ -36,13 +64,33 @@ public class HealthcareController {
     }
 
     @GetMapping("/nearby")
-    public ResponseEntity<ApiResponse<List<HealthcareFacility>>> getNearbyFacilities(
+    public ResponseEntity<ApiResponse<List<NearbyFacility>>> getNearbyFacilities(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "10.0") Double radiusKm,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openAt,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Boolean freeServices,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            List<NearbyFacility> facilities = healthcareService.getNearbyFacilities(latitude, longitude, radiusKm,
+                    openAt, type, freeServices, tags != null ? tags : List.of(), limit);
+            return ResponseEntity.ok(ApiResponse.success(facilities));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/nearest")
+    public ResponseEntity<ApiResponse<List<NearbyFacility>>> getNearestFacilities(
             @RequestParam Double latitude,
             @RequestParam Double longitude,
-            @RequestParam(defaultValue = "10.0") Double radiusKm) {
+            @RequestParam(defaultValue = "5") int count) {
         try {
-            List<HealthcareFacility> facilities = healthcareService.getNearbyFacilities(
-                    latitude, longitude, radiusKm);
+            List<NearbyFacility> facilities = healthcareService.getNearestFacilities(
+                    latitude, longitude, count);
             return ResponseEntity.ok(ApiResponse.success(facilities));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -50,6 +98,22 @@ public class HealthcareController {
         }
     }
 
+    @GetMapping("/clusters")
+    public ResponseEntity<ApiResponse<List<FacilityCluster>>> getClusters(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam int zoom) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(
+                    healthcareService.getClusters(minLat, minLon, maxLat, maxLon, zoom)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<HealthcareFacility>> getFacilityById(@PathVariable Long id) {
         try {
@@ -73,6 +137,19 @@ public class HealthcareController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = { CatalogImporter.CSV, CatalogImporter.NDJSON })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ImportResult>> importFacilities(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        try {
+            ImportResult result = healthcareService.importFacilities(body, contentType);
+            return ResponseEntity.ok(ApiResponse.success("Import finished", result));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<HealthcareFacility>> updateFacility(
             @PathVariable Long id, @Valid @RequestBody HealthcareFacility facility) {
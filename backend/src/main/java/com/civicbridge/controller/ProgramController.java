@@ -1,12 +1,22 @@
 package com.civicbridge.controller;
 
 import com.civicbridge.dto.ApiResponse;
+import com.civicbridge.dto.CursorPage;
+import com.civicbridge.dto.ImportResult;
+import com.civicbridge.dto.PageResponse;
+import com.civicbridge.dto.ProgramSummary;
 import com.civicbridge.model.Program;
+import com.civicbridge.service.CatalogImporter;
+import com.civicbridge.service.CatalogPayloadCache;
+import com.civicbridge.service.EligibilityService;
 import com.civicbridge.service.ProgramService;
 import lombok.RequiredArgsConstructor;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,22 +27,62 @@ import org.springframework.security.access.prepost.PreAuthorize;
 public class ProgramController {
 
     private final ProgramService programService;
+    private final CatalogPayloadCache catalogPayloadCache;
+    private final EligibilityService eligibilityService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Program>>> getAllPrograms(
+    public ResponseEntity<?> getAllPrograms(
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String region) {
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
             // Normalize empty strings to null
             String normalizedCategory = (category != null && !category.isEmpty()) ? category : null;
             String normalizedRegion = (region != null && !region.isEmpty()) ? region : null;
+            int pageSize = CursorPage.clampSize(size);
+
+            String key = normalizedCategory + "|" + normalizedRegion + "|" + cursor + "|" + pageSize;
+            CatalogPayloadCache.Payload payload = catalogPayloadCache.get(CatalogPayloadCache.Catalog.PROGRAMS, key,
+                    CatalogResponses.negotiate(accept), () -> ApiResponse.success(programService.getProgramsPage(normalizedCategory, normalizedRegion,
+                            cursor, pageSize)));
+            return CatalogResponses.of(payload, ifNoneMatch, acceptEncoding);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
 
-            List<Program> programs;
-            if (normalizedCategory != null || normalizedRegion != null) {
-                programs = programService.getProgramsByFilters(normalizedCategory, normalizedRegion);
-            } else {
-                programs = programService.getAllPrograms();
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<PageResponse<Program>>> searchPrograms(
+            @RequestParam String q,
+            @RequestParam(required = false) String region,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            if (q.isBlank()) {
+                return ResponseEntity.badRequest().body(ApiResponse.error("Search query cannot be empty"));
             }
+            String normalizedRegion = (region != null && !region.isEmpty()) ? region : null;
+
+            PageResponse<Program> results = PageResponse.from(
+                    programService.searchPrograms(q, normalizedRegion, page, size));
+            return ResponseEntity.ok(ApiResponse.success(results));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/recommended")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<ProgramSummary>>> getRecommendedPrograms(
+            @RequestParam(required = false) String category) {
+        try {
+            List<ProgramSummary> programs = eligibilityService.getRecommendedPrograms(category);
             return ResponseEntity.ok(ApiResponse.success(programs));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -63,6 +113,19 @@ public class ProgramController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = { CatalogImporter.CSV, CatalogImporter.NDJSON })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ImportResult>> importPrograms(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        try {
+            ImportResult result = programService.importPrograms(body, contentType);
+            return ResponseEntity.ok(ApiResponse.success("Import finished", result));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Program>> updateProgram(@PathVariable Long id,
@@ -1,15 +1,23 @@
 package com.civicbridge.controller;
 
 import com.civicbridge.dto.ApiResponse;
+import com.civicbridge.dto.CursorPage;
+import com.civicbridge.dto.UserSummary;
 import com.civicbridge.model.Role;
 import com.civicbridge.model.User;
 import com.civicbridge.repository.jpa.UserRepository;
+import com.civicbridge.security.TokenRevocationService;
+import com.civicbridge.service.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/users")
@@ -17,11 +25,27 @@ import java.util.List;
 public class UserController {
 
     private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserPrincipalCache userPrincipalCache;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<User>>> getAllUsers() {
-        return ResponseEntity.ok(ApiResponse.success(userRepository.findAll()));
+    public ResponseEntity<ApiResponse<CursorPage<UserSummary>>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<UserSummary> rows = userRepository.findSummaryPage(CursorPage.decodeCursor(cursor),
+                PageRequest.of(0, pageSize + 1));
+        CursorPage<UserSummary> page = CursorPage.of(rows, pageSize, UserSummary::getId);
+
+        if (!page.getItems().isEmpty()) {
+            Map<Long, UserSummary> byId = page.getItems().stream()
+                    .collect(Collectors.toMap(UserSummary::getId, Function.identity()));
+            for (Object[] row : userRepository.findRolesByUserIds(byId.keySet())) {
+                byId.get((Long) row[0]).getRoles().add((Role) row[1]);
+            }
+        }
+        return ResponseEntity.ok(ApiResponse.success(page));
     }
 
     @PatchMapping("/{id}/role")
@@ -50,6 +74,9 @@ public class UserController {
             user.getRoles().add(role);
 
             User updated = userRepository.save(user);
+            // Tokens carry the roles they were issued with
+            tokenRevocationService.revokeAll(updated.getUsername());
+            userPrincipalCache.invalidate(updated);
             return ResponseEntity.ok(ApiResponse.success("User role updated", updated));
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -0,0 +1,6 @@
+package com.civicbridge.dto;
+
+// The slice of a User the alert engine needs to pick and address recipients
+public record AlertRecipient(Long id, String email, String fullName, String username, String region, Integer age,
+        Long annualIncome, String occupation) {
+}
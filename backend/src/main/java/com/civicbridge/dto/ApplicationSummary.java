@@ -0,0 +1,40 @@
+package com.civicbridge.dto;
+
+import com.civicbridge.model.Application;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Application as returned to its owner: a reference to the program instead of the full Program and User graph
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationSummary {
+    private Long id;
+    private ProgramRef program;
+    private Application.ApplicationStatus status;
+    private LocalDateTime createdAt;
+
+    // Flat constructor used by JPQL constructor expressions
+    public ApplicationSummary(Long id, Long programId, String programName, String programCategory,
+            Application.ApplicationStatus status, LocalDateTime createdAt) {
+        this(id, new ProgramRef(programId, programName, programCategory), status, createdAt);
+    }
+
+    public static ApplicationSummary from(Application application) {
+        return new ApplicationSummary(application.getId(), application.getProgram().getId(),
+                application.getProgram().getName(), application.getProgram().getCategory(),
+                application.getStatus(), application.getCreatedAt());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProgramRef {
+        private Long id;
+        private String name;
+        private String category;
+    }
+}
@@ -11,10 +11,15 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
     private String token;
     private String type = "Bearer";
+    // Lifetime of the access token in seconds; refresh it with refreshToken before then
+    private long expiresIn;
+    private String refreshToken;
     private User user;
 
-    public AuthResponse(String token, User user) {
+    public AuthResponse(String token, long expiresIn, String refreshToken, User user) {
         this.token = token;
+        this.expiresIn = expiresIn;
+        this.refreshToken = refreshToken;
         this.user = user;
     }
 }
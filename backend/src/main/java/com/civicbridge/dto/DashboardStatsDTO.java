@@ -1,5 +1,6 @@
 package com.civicbridge.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,4 +14,7 @@ public class DashboardStatsDTO {
     private long totalPrograms;
     private long totalHealthcareFacilities;
     private long totalUsers;
+    // Admin only; left out of the public /topic/stats broadcast
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LiveStatsDTO live;
 }
@@ -0,0 +1,21 @@
+package com.civicbridge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacilityCluster {
+    // Centroid of the facilities in the cluster
+    private double latitude;
+    private double longitude;
+    private int count;
+    private int freeCount;
+    private Map<String, Integer> countsByType;
+    // Set only when the cluster is a single facility, so the map can link straight to it
+    private Long facilityId;
+}
@@ -0,0 +1,17 @@
+package com.civicbridge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+    private long imported;
+    private long rejected;
+    // Only the first few errors are reported; "rejected" carries the full count
+    private List<String> errors;
+}
@@ -0,0 +1,24 @@
+package com.civicbridge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// Activity over the last minute (see LiveMetrics); maps only list providers and regions active in that minute
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveStatsDTO {
+    private long queriesPerMinute;
+    private long applicationsPerMinute;
+    private long registrationsPerMinute;
+    private long aiProviderCallsPerMinute;
+    // Failed provider calls over all calls, including ones a failover recovered from; null without calls
+    private Double aiProviderErrorRate;
+    private Map<String, Double> aiProviderErrorRates;
+    private Map<String, Double> queryLatencyP95MillisByRegion;
+}
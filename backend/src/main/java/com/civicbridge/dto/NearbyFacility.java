@@ -0,0 +1,17 @@
+package com.civicbridge.dto;
+
+import com.civicbridge.model.HealthcareFacility;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyFacility {
+    // Serialized inline, so existing clients still see a plain facility object plus distanceKm
+    @JsonUnwrapped
+    private HealthcareFacility facility;
+    private double distanceKm;
+}
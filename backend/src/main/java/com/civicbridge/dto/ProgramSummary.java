@@ -0,0 +1,28 @@
+package com.civicbridge.dto;
+
+import com.civicbridge.model.Program;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// List-view shape of a Program: the fields shown on program cards, without benefits or application process
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgramSummary {
+    private Long id;
+    private String name;
+    private String category;
+    private String description;
+    private String region;
+    private String eligibilityCriteria;
+    private String applicationDeadline;
+    private String contactInfo;
+    private boolean active;
+
+    public static ProgramSummary from(Program program) {
+        return new ProgramSummary(program.getId(), program.getName(), program.getCategory(),
+                program.getDescription(), program.getRegion(), program.getEligibilityCriteria(),
+                program.getApplicationDeadline(), program.getContactInfo(), program.isActive());
+    }
+}
@@ -16,4 +16,7 @@ public class RegisterRequest {
     private Double latitude;
     private Double longitude;
     private String region;
+    private Integer age;
+    private Long annualIncome;
+    private String occupation;
 }
@@ -0,0 +1,24 @@
+package com.civicbridge.dto;
+
+import com.civicbridge.model.HealthcareFacility;
+import com.civicbridge.model.Program;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    // Pass back as "since" on the next call
+    private long version;
+    private boolean hasMore;
+    // Inserted or updated records that are still active
+    private List<Program> programs;
+    private List<HealthcareFacility> facilities;
+    // Deactivated since the client's version; drop them from the local copy
+    private List<Long> removedProgramIds;
+    private List<Long> removedFacilityIds;
+}
@@ -0,0 +1,31 @@
+package com.civicbridge.dto;
+
+import com.civicbridge.model.Role;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// Admin list-view shape of a User; never carries the password hash
+@Data
+@NoArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String username;
+    private String email;
+    private String fullName;
+    private String preferredLanguage;
+    private String region;
+    private Set<Role> roles = EnumSet.noneOf(Role.class);
+
+    public UserSummary(Long id, String username, String email, String fullName, String preferredLanguage,
+            String region) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.fullName = fullName;
+        this.preferredLanguage = preferredLanguage;
+        this.region = region;
+    }
+}
@@ -0,0 +1,16 @@
+package com.civicbridge.exception;
+
+// Thrown when a caller is throttled or a bounded resource is saturated; mapped to 429
+public class TooManyRequestsException extends ApiException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
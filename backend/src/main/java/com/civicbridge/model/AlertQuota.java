@@ -0,0 +1,39 @@
+package com.civicbridge.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * How many program alerts a user has been emailed on one day; ProgramAlertEngine stops emailing a
+ * user once the day's cap is reached. Rows of earlier days are deleted by the alert scan.
+ */
+@Entity
+@Table(name = "alert_quotas")
+@IdClass(AlertQuota.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertQuota {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    private LocalDate day;
+
+    private int sent;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate day;
+    }
+}
@@ -1,5 +1,8 @@
 package com.civicbridge.model;
 
+import com.civicbridge.service.tags.ServiceTags;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -7,6 +10,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 @Table(name = "healthcare_facilities")
@@ -16,7 +20,8 @@ import java.time.LocalDateTime;
 public class HealthcareFacility {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "healthcare_facility_seq")
+    @SequenceGenerator(name = "healthcare_facility_seq", sequenceName = "healthcare_facility_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Facility name is required")
@@ -30,6 +35,11 @@ public class HealthcareFacility {
     @Column(length = 1000)
     private String services;
 
+    // services tokenized into sorted vocabulary tags, encoded as ",tag1,,tag2," (see ServiceTags)
+    @JsonIgnore
+    @Column(name = "service_tags", length = 1000)
+    private String serviceTags;
+
     private String address;
 
     private Double latitude;
@@ -40,6 +50,11 @@ public class HealthcareFacility {
 
     private String operatingHours;
 
+    // operatingHours parsed into 5-minute slots of the week (see OperatingHours); null when unparseable
+    @JsonIgnore
+    @Column(name = "opening_schedule")
+    private byte[] openingSchedule;
+
     private Boolean freeServices;
 
     @Column(name = "is_active")
@@ -51,6 +66,16 @@ public class HealthcareFacility {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Catalog version of the last write, drawn from catalog_version_seq (see CatalogVersionService)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "sync_version")
+    private Long syncVersion;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public List<String> getTags() {
+        return ServiceTags.decode(serviceTags);
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
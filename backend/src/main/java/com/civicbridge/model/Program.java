@@ -1,15 +1,22 @@
 package com.civicbridge.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "programs")
 @Data
 public class Program {
 
+    // Sequence ids (allocated 50 at a time) keep Hibernate's JDBC insert batching enabled
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "program_seq")
+    @SequenceGenerator(name = "program_seq", sequenceName = "program_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -18,8 +25,41 @@ public class Program {
     private String region;
     private String eligibilityCriteria;
     private String applicationDeadline;
+
+    // applicationDeadline parsed into a date (see ApplicationDeadlines); null when it holds none
+    @JsonIgnore
+    @Column(name = "deadline_date")
+    private LocalDate deadlineDate;
+
     private String benefits;
     private String applicationProcess;
     private String contactInfo;
     private boolean isActive = true;
+
+    // Set for programs loaded through the bulk import, which are not announced to users as new
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "boolean not null default false")
+    private boolean imported;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Catalog version of the last write, drawn from catalog_version_seq (see CatalogVersionService)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "sync_version")
+    private Long syncVersion;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 }
@@ -0,0 +1,53 @@
+package com.civicbridge.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One alert about a program, fanned out to matching users by ProgramAlertEngine in chunks of
+ * ascending user id. lastUserId is the fan-out's checkpoint, committed together with the emails of
+ * each chunk, so an interrupted fan-out resumes where it stopped without emailing anyone twice.
+ * A program gets at most one alert of each kind. A chunk that fails is retried at nextAttemptAt,
+ * behind the other alerts, and the alert is given up after a few attempts.
+ */
+@Entity
+@Table(name = "program_alerts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_program_alerts_program_kind", columnNames = {"program_id", "kind"}))
+@Data
+public class ProgramAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "program_id", nullable = false)
+    private Long programId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Kind kind;
+
+    @Column(name = "last_user_id", nullable = false)
+    private long lastUserId;
+
+    private int recipients;
+
+    @Column(nullable = false, columnDefinition = "integer not null default 0")
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public enum Kind {
+        NEW_PROGRAM,
+        DEADLINE_REMINDER
+    }
+}
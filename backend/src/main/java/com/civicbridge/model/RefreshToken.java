@@ -0,0 +1,54 @@
+package com.civicbridge.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Only a SHA-256 hash of the token is stored, so a leaked table cannot be replayed
+@Entity
+@Table(name = "refresh_tokens", indexes = @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Set when the token is rotated or revoked
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    // Only a ROTATED token presented again is treated as theft; a logged-out one is merely refused
+    @Enumerated(EnumType.STRING)
+    @Column(name = "revoked_reason", length = 16)
+    private RevocationReason revokedReason;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum RevocationReason {
+        ROTATED,
+        LOGGED_OUT,
+        // All of a user's sessions ended, after a reuse
+        REVOKED
+    }
+}
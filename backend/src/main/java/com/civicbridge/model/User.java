@@ -1,5 +1,6 @@
 package com.civicbridge.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.springframework.security.core.GrantedAuthority;
@@ -20,6 +21,7 @@ public class User implements UserDetails {
     private Long id;
 
     private String username;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     private String email;
     private String fullName;
@@ -28,6 +30,11 @@ public class User implements UserDetails {
     private Double latitude;
     private Double longitude;
 
+    // Optional profile details used for program eligibility matching
+    private Integer age;
+    private Long annualIncome;
+    private String occupation;
+
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "role")
@@ -0,0 +1,32 @@
+package com.civicbridge.repository.jpa;
+
+import com.civicbridge.model.AlertQuota;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AlertQuotaRepository extends JpaRepository<AlertQuota, AlertQuota.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO alert_quotas (user_id, day, sent) " +
+            "SELECT u.id, :day, 0 FROM users u WHERE u.id IN (:userIds) " +
+            "ON CONFLICT (user_id, day) DO NOTHING", nativeQuery = true)
+    int createMissing(@Param("userIds") Collection<Long> userIds, @Param("day") LocalDate day);
+
+    // Locked in user id order so nodes fanning out different alerts to the same users wait for each
+    // other instead of deadlocking; the locks are held until the caller's chunk commits
+    @Query(value = "SELECT * FROM alert_quotas WHERE day = :day AND user_id IN (:userIds) " +
+            "ORDER BY user_id FOR UPDATE", nativeQuery = true)
+    List<AlertQuota> findAllForUpdate(@Param("userIds") Collection<Long> userIds, @Param("day") LocalDate day);
+
+    @Modifying
+    @Query("DELETE FROM AlertQuota q WHERE q.day < :day")
+    int deleteBefore(@Param("day") LocalDate day);
+}
@@ -1,7 +1,10 @@
 package com.civicbridge.repository.jpa;
 
+import com.civicbridge.dto.ApplicationSummary;
 import com.civicbridge.model.Application;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +12,8 @@ import java.util.List;
 @Repository
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
     List<Application> findByUser_Id(Long userId);
+
+    @Query("SELECT new com.civicbridge.dto.ApplicationSummary(a.id, p.id, p.name, p.category, a.status, a.createdAt) " +
+            "FROM Application a JOIN a.program p WHERE a.user.id = :userId ORDER BY a.createdAt DESC")
+    List<ApplicationSummary> findSummariesByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,42 @@
+package com.civicbridge.repository.jpa;
+
+import com.civicbridge.model.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // Due messages nobody holds a claim on. SKIP LOCKED lets several nodes claim disjoint batches at once;
+    // served by the partial index on pending messages (see schema.sql). Must run in a transaction.
+    @Query(value = "SELECT * FROM email_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "AND (locked_until IS NULL OR locked_until < :now) " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxMessage> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = com.civicbridge.model.EmailOutboxMessage.Status.SENT, " +
+            "m.sentAt = :now, m.attempts = m.attempts + 1, m.lockedUntil = NULL, m.lastError = NULL " +
+            "WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Hands messages back without counting an attempt, e.g. when their domain is over its rate limit
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.nextAttemptAt = :nextAttemptAt, m.lockedUntil = NULL WHERE m.id IN :ids")
+    int release(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    long countByStatus(EmailOutboxMessage.Status status);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = com.civicbridge.model.EmailOutboxMessage.Status.SENT " +
+            "AND m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
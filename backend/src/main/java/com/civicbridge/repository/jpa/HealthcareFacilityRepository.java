@@ -1,12 +1,18 @@
 package com.civicbridge.repository.jpa;
 
 import com.civicbridge.model.HealthcareFacility;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface HealthcareFacilityRepository
@@ -17,11 +23,60 @@ public interface HealthcareFacilityRepository
 
        List<HealthcareFacility> findByIsActiveTrue();
 
-       @Query(value = "SELECT * FROM healthcare_facilities " +
-                     "WHERE is_active = true AND " +
-                     "earth_distance(ll_to_earth(:lat, :lon), ll_to_earth(latitude, longitude)) < :radiusMeters " +
-                     "ORDER BY earth_distance(ll_to_earth(:lat, :lon), ll_to_earth(latitude, longitude))", nativeQuery = true)
-       List<HealthcareFacility> findNearbyFacilities(@Param("lat") Double latitude,
+       // openSlot < 0 disables the opening-hours filter; CASE keeps get_bit from seeing the negative slot
+       @Query("SELECT f FROM HealthcareFacility f WHERE f.isActive = true AND f.id > :afterId AND " +
+                     "(:type IS NULL OR f.type = :type) AND " +
+                     "(:freeServices IS NULL OR f.freeServices = :freeServices) AND " +
+                     "(CASE WHEN :openSlot < 0 THEN 1 ELSE FUNCTION('get_bit', f.openingSchedule, :openSlot) END) = 1 " +
+                     "ORDER BY f.id")
+       List<HealthcareFacility> findPageByCriteria(@Param("type") String type,
+                     @Param("freeServices") Boolean freeServices,
+                     @Param("openSlot") int openSlot,
+                     @Param("afterId") Long afterId,
+                     Pageable pageable);
+
+       // Rows saved before operating hours were parsed or services were tagged
+       @Query("SELECT f FROM HealthcareFacility f WHERE " +
+                     "(f.openingSchedule IS NULL AND f.operatingHours IS NOT NULL) OR " +
+                     "(f.serviceTags IS NULL AND f.services IS NOT NULL)")
+       List<HealthcareFacility> findWithUnderivedFields();
+
+       interface FacilityDistance {
+              Long getId();
+
+              Double getDistanceMeters();
+       }
+
+       // Served by the GiST index on the generated location column (see schema.sql): ST_DWithin prunes
+       // by radius and <-> walks the index in distance order, so only the LIMIT closest rows are read.
+       // An empty type and a tagPattern of '%' disable those filters (see ServiceTags.containsAllPattern)
+       @Query(value = "SELECT f.id AS id, ST_Distance(f.location, p.pt) AS \"distanceMeters\" " +
+                     "FROM healthcare_facilities f, " +
+                     "(SELECT CAST(ST_SetSRID(ST_MakePoint(:lon, :lat), 4326) AS geography) AS pt) p " +
+                     "WHERE f.is_active = true AND ST_DWithin(f.location, p.pt, :radiusMeters) AND " +
+                     "(:type = '' OR f.type = :type) AND " +
+                     "(:freeOnly = false OR f.free_services = true) AND " +
+                     "COALESCE(f.service_tags, ',') LIKE :tagPattern AND " +
+                     "(CASE WHEN :openSlot < 0 THEN 1 ELSE get_bit(f.opening_schedule, :openSlot) END) = 1 " +
+                     "ORDER BY f.location <-> p.pt LIMIT :limit", nativeQuery = true)
+       List<FacilityDistance> findNearbyFacilities(@Param("lat") Double latitude,
                      @Param("lon") Double longitude,
-                     @Param("radiusMeters") Double radiusMeters);
+                     @Param("radiusMeters") Double radiusMeters,
+                     @Param("type") String type,
+                     @Param("freeOnly") boolean freeOnly,
+                     @Param("tagPattern") String tagPattern,
+                     @Param("openSlot") int openSlot,
+                     @Param("limit") int limit);
+
+       // Delta sync: everything written after the client's version, in version order
+       @Query("SELECT f FROM HealthcareFacility f WHERE f.syncVersion > :since AND f.syncVersion <= :until " +
+                     "ORDER BY f.syncVersion")
+       List<HealthcareFacility> findChangedSince(@Param("since") Long since,
+                     @Param("until") Long until,
+                     Pageable pageable);
+
+       // Server-side cursor for exports; must be consumed inside a read-only transaction
+       @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+       @Query("SELECT f FROM HealthcareFacility f ORDER BY f.id")
+       Stream<HealthcareFacility> streamAll();
 }
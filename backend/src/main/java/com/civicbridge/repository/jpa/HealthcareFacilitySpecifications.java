@@ -15,6 +15,19 @@ public class HealthcareFacilitySpecifications {
                 : criteriaBuilder.equal(root.get("freeServices"), true);
     }
 
+    // slot is a minute-of-week slot from OperatingHours; facilities with unknown hours never match
+    public static Specification<HealthcareFacility> isOpenAt(Integer slot) {
+        return (root, query, criteriaBuilder) -> slot == null ? criteriaBuilder.conjunction()
+                : criteriaBuilder.equal(criteriaBuilder.function("get_bit", Integer.class,
+                        root.get("openingSchedule"), criteriaBuilder.literal(slot)), 1);
+    }
+
+    // pattern comes from ServiceTags.containsAllPattern; null means no tag filter
+    public static Specification<HealthcareFacility> hasServiceTags(String pattern) {
+        return (root, query, criteriaBuilder) -> pattern == null ? criteriaBuilder.conjunction()
+                : criteriaBuilder.like(root.get("serviceTags"), pattern);
+    }
+
     public static Specification<HealthcareFacility> isActive() {
         return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("isActive"), true);
     }
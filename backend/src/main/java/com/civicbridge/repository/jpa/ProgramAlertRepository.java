@@ -0,0 +1,48 @@
+package com.civicbridge.repository.jpa;
+
+import com.civicbridge.model.ProgramAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ProgramAlertRepository extends JpaRepository<ProgramAlert, Long> {
+
+    // Alerts are created in SQL with ON CONFLICT so nodes scanning at the same time cannot create one twice
+    @Modifying
+    @Query(value = "INSERT INTO program_alerts (program_id, kind, last_user_id, recipients, created_at) " +
+            "SELECT p.id, 'DEADLINE_REMINDER', 0, 0, :now FROM programs p " +
+            "WHERE p.is_active = true AND p.deadline_date BETWEEN :from AND :until " +
+            "ON CONFLICT (program_id, kind) DO NOTHING", nativeQuery = true)
+    int createDeadlineReminders(@Param("from") LocalDate from, @Param("until") LocalDate until,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO program_alerts (program_id, kind, last_user_id, recipients, created_at) " +
+            "SELECT p.id, 'NEW_PROGRAM', 0, 0, :now FROM programs p " +
+            "WHERE p.is_active = true AND p.imported = false AND p.created_at >= :since " +
+            "ON CONFLICT (program_id, kind) DO NOTHING", nativeQuery = true)
+    int createNewProgramAlerts(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    // The oldest unfinished alert that is not waiting to retry and that no other node is working on; the
+    // row lock is held until the caller's transaction (one fan-out chunk) commits. Must run in a transaction.
+    @Query(value = "SELECT * FROM program_alerts WHERE completed_at IS NULL " +
+            "AND (next_attempt_at IS NULL OR next_attempt_at <= :now) " +
+            "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<ProgramAlert> findNextIncompleteForUpdate(@Param("now") LocalDateTime now);
+
+    // Runs after the failed chunk rolled back, so it only touches the counters another node may also be
+    // checkpointing; an alert that used up its attempts is completed as it stands
+    @Modifying
+    @Query(value = "UPDATE program_alerts SET attempts = attempts + 1, next_attempt_at = :retryAt, " +
+            "completed_at = CASE WHEN attempts + 1 >= :maxAttempts THEN :now ELSE completed_at END " +
+            "WHERE id = :id AND completed_at IS NULL", nativeQuery = true)
+    int recordFailure(@Param("id") long id, @Param("maxAttempts") int maxAttempts,
+            @Param("retryAt") LocalDateTime retryAt, @Param("now") LocalDateTime now);
+}
@@ -1,11 +1,19 @@
 package com.civicbridge.repository.jpa;
 
+import com.civicbridge.dto.ProgramSummary;
 import com.civicbridge.model.Program;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ProgramRepository extends JpaRepository<Program, Long> {
@@ -22,4 +30,40 @@ public interface ProgramRepository extends JpaRepository<Program, Long> {
                      "(:region IS NULL OR LOWER(p.region) LIKE LOWER(CONCAT('%', :region, '%')))")
        List<Program> findByFilters(@Param("category") String category,
                      @Param("region") String region);
+
+       @Query("SELECT new com.civicbridge.dto.ProgramSummary(p.id, p.name, p.category, p.description, p.region, " +
+                     "p.eligibilityCriteria, p.applicationDeadline, p.contactInfo, p.isActive) " +
+                     "FROM Program p WHERE p.isActive = true AND p.id > :afterId AND " +
+                     "(:category IS NULL OR p.category = :category) AND " +
+                     "(:region IS NULL OR LOWER(p.region) LIKE LOWER(CONCAT('%', :region, '%'))) " +
+                     "ORDER BY p.id")
+       List<ProgramSummary> findSummaryPageByFilters(@Param("category") String category,
+                     @Param("region") String region,
+                     @Param("afterId") Long afterId,
+                     Pageable pageable);
+
+       // Ranked full-text search over the generated search_vector column (see schema.sql).
+       // Region is matched fuzzily by trigram word similarity so "delhi" finds "New Delhi".
+       @Query(value = "SELECT p.* FROM programs p, websearch_to_tsquery('simple', :query) q " +
+                     "WHERE p.is_active = true AND p.search_vector @@ q AND " +
+                     "(CAST(:region AS text) IS NULL OR lower(CAST(:region AS text)) <% lower(p.region)) " +
+                     "ORDER BY ts_rank_cd(p.search_vector, q) DESC, p.id", nativeQuery = true)
+       Slice<Program> search(@Param("query") String query,
+                     @Param("region") String region,
+                     Pageable pageable);
+
+       // Delta sync: everything written after the client's version, in version order
+       @Query("SELECT p FROM Program p WHERE p.syncVersion > :since AND p.syncVersion <= :until " +
+                     "ORDER BY p.syncVersion")
+       List<Program> findChangedSince(@Param("since") Long since,
+                     @Param("until") Long until,
+                     Pageable pageable);
+
+       @Query("SELECT p FROM Program p WHERE p.deadlineDate IS NULL AND p.applicationDeadline IS NOT NULL")
+       List<Program> findWithUnderivedFields();
+
+       // Server-side cursor for exports; must be consumed inside a read-only transaction
+       @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+       @Query("SELECT p FROM Program p ORDER BY p.id")
+       Stream<Program> streamAll();
 }
@@ -0,0 +1,37 @@
+package com.civicbridge.repository.jpa;
+
+import com.civicbridge.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Returns 0 when another request already used or revoked the token
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now, t.revokedReason = :reason "
+            + "WHERE t.id = :id AND t.revokedAt IS NULL")
+    int markRevoked(@Param("id") Long id, @Param("now") LocalDateTime now,
+            @Param("reason") RefreshToken.RevocationReason reason);
+
+    // Read from the database, not the persistence context, so it sees a concurrent markRevoked
+    @Query("SELECT t.revokedReason FROM RefreshToken t WHERE t.id = :id")
+    Optional<RefreshToken.RevocationReason> findRevokedReason(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now, t.revokedReason = :reason "
+            + "WHERE t.userId = :userId AND t.revokedAt IS NULL")
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+            @Param("reason") RefreshToken.RevocationReason reason);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
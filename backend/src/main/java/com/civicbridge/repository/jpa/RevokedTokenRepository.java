@@ -0,0 +1,24 @@
+package com.civicbridge.repository.jpa;
+
+import com.civicbridge.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    @Query("SELECT r.tokenKey FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findActiveKeys(@Param("now") LocalDateTime now);
+
+    @Query("SELECT r.tokenKey FROM RevokedToken r WHERE r.createdAt > :since")
+    List<String> findKeysCreatedAfter(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
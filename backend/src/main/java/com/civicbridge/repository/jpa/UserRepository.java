@@ -1,8 +1,15 @@
 package com.civicbridge.repository.jpa;
 
+import com.civicbridge.dto.AlertRecipient;
+import com.civicbridge.dto.UserSummary;
 import com.civicbridge.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +18,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("SELECT new com.civicbridge.dto.UserSummary(u.id, u.username, u.email, u.fullName, " +
+            "u.preferredLanguage, u.region) FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findSummaryPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Next chunk of users with an email whose region overlaps :region (either contains the other, the
+    // same test as eligibility matching), or of all such users when :region is null. Keyset-paged on
+    // the primary key so each chunk is an index range scan however far the fan-out has got.
+    @Query("SELECT new com.civicbridge.dto.AlertRecipient(u.id, u.email, u.fullName, u.username, u.region, " +
+            "u.age, u.annualIncome, u.occupation) FROM User u " +
+            "WHERE u.id > :afterId AND u.email IS NOT NULL AND (:region IS NULL OR " +
+            "(TRIM(u.region) <> '' AND (LOWER(u.region) LIKE CONCAT('%', :region, '%') " +
+            "OR :region LIKE CONCAT('%', LOWER(TRIM(u.region)), '%')))) ORDER BY u.id")
+    List<AlertRecipient> findAlertRecipients(@Param("afterId") Long afterId, @Param("region") String region,
+            Pageable pageable);
+
+    // Rows of [userId, Role] for a page of users, replacing one eager user_roles select per user
+    @Query("SELECT u.id, r FROM User u JOIN u.roles r WHERE u.id IN :ids")
+    List<Object[]> findRolesByUserIds(@Param("ids") Collection<Long> ids);
 }
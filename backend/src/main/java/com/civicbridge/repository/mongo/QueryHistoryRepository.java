@@ -4,9 +4,13 @@ import com.civicbridge.model.QueryHistory;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface QueryHistoryRepository extends MongoRepository<QueryHistory, String> {
     List<QueryHistory> findByUserId(Long userId);
     List<QueryHistory> findByUserIdOrderByTimestampDesc(Long userId);
+
+    // Backed by a Mongo cursor; close the stream when done
+    Stream<QueryHistory> streamAllBy();
 }
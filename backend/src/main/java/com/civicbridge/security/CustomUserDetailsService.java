@@ -6,16 +6,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
         private final UserRepository userRepository;
 
@@ -35,4 +37,18 @@ public class CustomUserDetailsService implements UserDetailsService {
                                 user.getPassword(),
                                 authorities);
         }
+
+        // Called by the authentication provider after a successful login when the stored hash
+        // was made with a lower BCrypt strength than the one now configured
+        @Override
+        @Transactional
+        public UserDetails updatePassword(UserDetails user, String newPassword) {
+                userRepository.findByUsername(user.getUsername()).ifPresent(stored -> {
+                        stored.setPassword(newPassword);
+                        userRepository.save(stored);
+                });
+                return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                                .password(newPassword)
+                                .build();
+        }
 }
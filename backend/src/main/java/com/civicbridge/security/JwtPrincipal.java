@@ -0,0 +1,31 @@
+package com.civicbridge.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Principal rebuilt from the claims of a signed access token, so authenticated requests need no user
+ * lookup. It has no password; code that needs the full {@link com.civicbridge.model.User} loads it by id.
+ */
+public class JwtPrincipal extends User {
+
+    private final Long id;
+    // As registered; null when the user gave none or the token predates the claim
+    private final String region;
+
+    public JwtPrincipal(Long id, String username, String region, Collection<? extends GrantedAuthority> authorities) {
+        super(username, "", authorities);
+        this.id = id;
+        this.region = region;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+}
@@ -1,39 +1,57 @@
 package com.civicbridge.security;
 
+import com.civicbridge.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtTokenProvider {
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLES_CLAIM = "roles";
+    static final String REGION_CLAIM = "region";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpirationDate;
 
-    public String generateToken(Authentication authentication) {
-        String username = authentication.getName();
-        Date currentDate = new Date();
-        Date expireDate = new Date(currentDate.getTime() + jwtExpirationDate);
+    // Decoding the secret and building the parser are the expensive part of verification; do it once
+    private Key signingKey;
+    private JwtParser parser;
 
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(expireDate)
-                .signWith(key(), SignatureAlgorithm.HS256)
-                .compact();
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
+    // Carries the user id and roles so requests can be authenticated from the token alone, and the region
+    // so per-region metrics need no user lookup either
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLES_CLAIM, user.getRoles().stream().map(Enum::name).sorted().toList());
+        if (user.getRegion() != null && !user.getRegion().isBlank()) {
+            claims.put(REGION_CLAIM, user.getRegion());
+        }
+        return createToken(claims, user.getUsername());
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -47,15 +65,42 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(currentDate)
                 .setExpiration(expireDate)
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    /** Verified claims of a signed, unexpired token, or {@code null} when it is not one. */
+    public Claims parseClaims(String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Principal built from the token's claims, or {@code null} for tokens issued before the claims were
+     * added; those are resolved through the user store until they expire.
+     */
+    public JwtPrincipal toPrincipal(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (userId == null || roles == null) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new JwtPrincipal(userId.longValue(), claims.getSubject(), claims.get(REGION_CLAIM, String.class),
+                authorities);
+    }
+
+    public long getAccessTokenTtlMillis() {
+        return jwtExpirationDate;
     }
 
     public String getUsername(String token) {
@@ -68,29 +113,10 @@ public class JwtTokenProvider {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key())
-                    .build()
-                    .parse(token);
-            return true;
-        } catch (MalformedJwtException e) {
-            // Invalid JWT token
-        } catch (ExpiredJwtException e) {
-            // Expired JWT token
-        } catch (UnsupportedJwtException e) {
-            // Unsupported JWT token
-        } catch (IllegalArgumentException e) {
-            // JWT claims string is empty
-        }
-        return false;
+        return parseClaims(token) != null;
     }
 }
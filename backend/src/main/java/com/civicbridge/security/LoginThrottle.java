@@ -0,0 +1,113 @@
+package com.civicbridge.security;
+
+import com.civicbridge.exception.TooManyRequestsException;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.EstimationProbe;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-node login throttling, checked before any password is hashed. Every attempt from an address
+ * draws on that address's bucket; only failed attempts draw on the username's bucket, so a user
+ * who signs in correctly is never locked out by the limit meant for someone guessing their password.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoginThrottle {
+
+    // Buckets refill within a minute, so an entry idle this long is back to full and can be dropped
+    private static final long IDLE_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.login-throttle.per-ip-per-minute:20}")
+    private int perIpPerMinute;
+
+    @Value("${auth.login-throttle.failures-per-username-per-minute:5}")
+    private int failuresPerUsernamePerMinute;
+
+    private final Map<String, Entry> byIp = new ConcurrentHashMap<>();
+    private final Map<String, Entry> failuresByUsername = new ConcurrentHashMap<>();
+
+    private static final class Entry {
+        final Bucket bucket;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        Entry(int perMinute) {
+            this.bucket = Bucket.builder()
+                    .addLimit(Bandwidth.classic(perMinute, Refill.greedy(perMinute, Duration.ofMinutes(1))))
+                    .build();
+        }
+
+        Bucket touch() {
+            lastUsed = System.currentTimeMillis();
+            return bucket;
+        }
+    }
+
+    /** Takes one attempt from the address and fails if either the address or the username is out of attempts. */
+    public void checkLogin(String ip, String username) {
+        ConsumptionProbe ipProbe = byIp.computeIfAbsent(ip, k -> new Entry(perIpPerMinute)).touch()
+                .tryConsumeAndReturnRemaining(1);
+        if (!ipProbe.isConsumed()) {
+            throw throttled("ip", ipProbe.getNanosToWaitForRefill());
+        }
+        Entry failures = username == null ? null : failuresByUsername.get(key(username));
+        if (failures != null) {
+            EstimationProbe probe = failures.touch().estimateAbilityToConsume(1);
+            if (!probe.canBeConsumed()) {
+                throw throttled("username", probe.getNanosToWaitForRefill());
+            }
+        }
+    }
+
+    /** Registration hashes a password too, so it shares the address's budget. */
+    public void checkRegistration(String ip) {
+        checkLogin(ip, null);
+    }
+
+    public void recordFailure(String username) {
+        if (username != null) {
+            failuresByUsername.computeIfAbsent(key(username), k -> new Entry(failuresPerUsernamePerMinute))
+                    .touch().tryConsume(1);
+        }
+    }
+
+    public void recordSuccess(String username) {
+        if (username != null) {
+            failuresByUsername.remove(key(username));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.login-throttle.cleanup-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - IDLE_MILLIS;
+        byIp.values().removeIf(entry -> entry.lastUsed < cutoff);
+        failuresByUsername.values().removeIf(entry -> entry.lastUsed < cutoff);
+    }
+
+    private TooManyRequestsException throttled(String scope, long nanosToWait) {
+        meterRegistry.counter("auth.login.throttled", "scope", scope).increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanosToWait) + 1);
+        log.debug("Login throttled by {} limit, retry after {}s", scope, retryAfter);
+        return new TooManyRequestsException("Too many login attempts, please try again later", retryAfter);
+    }
+
+    private static String key(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,94 @@
+package com.civicbridge.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.security.Principal;
+
+/**
+ * Authenticates STOMP sessions and guards what they subscribe to. The /ws handshake is open to
+ * everyone, so the access token comes in the CONNECT frame's Authorization header and is checked the
+ * way JwtAuthenticationFilter checks it; a session without a valid token stays anonymous.
+ * Destinations under {@link #ADMIN_TOPIC_PREFIX} need an admin, pattern subscriptions are refused
+ * (the simple broker would match them against admin destinations too), and clients may not SEND to
+ * broker topics. A refused frame ends the session with a STOMP ERROR.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    public static final String ADMIN_TOPIC_PREFIX = "/topic/admin/";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        switch (accessor.getCommand()) {
+            case CONNECT -> {
+                Authentication authentication = authenticate(accessor.getFirstNativeHeader("Authorization"));
+                if (authentication != null) {
+                    // Kept on the session, so later frames carry it
+                    accessor.setUser(authentication);
+                }
+            }
+            case SUBSCRIBE -> authorizeSubscription(accessor.getDestination(), accessor.getUser());
+            case SEND -> {
+                String destination = accessor.getDestination();
+                if (destination != null && destination.startsWith("/topic")) {
+                    throw new AccessDeniedException("Clients cannot send to " + destination);
+                }
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private Authentication authenticate(String header) {
+        if (!StringUtils.hasText(header) || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        Claims claims = jwtTokenProvider.parseClaims(header.substring(7));
+        if (claims == null || tokenRevocationService.isRevoked(claims)) {
+            return null;
+        }
+        UserDetails userDetails = jwtTokenProvider.toPrincipal(claims);
+        if (userDetails == null) {
+            userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private static void authorizeSubscription(String destination, Principal user) {
+        if (destination == null || destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0
+                || destination.indexOf('{') >= 0) {
+            throw new AccessDeniedException("Cannot subscribe to " + destination);
+        }
+        if (destination.startsWith(ADMIN_TOPIC_PREFIX) && !isAdmin(user)) {
+            throw new AccessDeniedException("Admin only: " + destination);
+        }
+    }
+
+    private static boolean isAdmin(Principal user) {
+        return user instanceof Authentication authentication && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+}
@@ -0,0 +1,137 @@
+package com.civicbridge.security;
+
+import com.civicbridge.model.RevokedToken;
+import com.civicbridge.repository.jpa.RevokedTokenRepository;
+import com.civicbridge.service.UserInvalidationEvent;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Revocation list for access tokens. The revoked_tokens table is the source of truth; every key in
+ * it is also in an in-memory Bloom filter, so the usual case of a token that was never revoked is
+ * answered without touching the database, and only filter hits are confirmed there. Revocations
+ * made on other nodes reach this node's filter on the next poll.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private static final String TOKEN_KEY = "jti:";
+    private static final String USER_KEY = "user:";
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    // Polls look back this much further than the previous poll to absorb clock skew between nodes
+    private static final long POLL_OVERLAP_SECONDS = 60;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${jwt.expiration}")
+    private long accessTokenTtlMillis;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastPoll;
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    /** Revokes one access token, e.g. on logout. */
+    public void revoke(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        String key = TOKEN_KEY + claims.getId();
+        revokedTokenRepository.save(new RevokedToken(key, null, toLocal(claims.getExpiration().getTime()),
+                LocalDateTime.now()));
+        add(key);
+    }
+
+    /** Revokes every access token issued to the user up to now. */
+    public void revokeAll(String username) {
+        LocalDateTime now = LocalDateTime.now();
+        String key = USER_KEY + username;
+        // The iat claim has whole seconds, so the cutoff is rounded up: a token issued earlier in the same
+        // second must not survive. One issued just after, in that second, has to be refreshed again
+        LocalDateTime issuedBefore = now.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        revokedTokenRepository.save(new RevokedToken(key, issuedBefore,
+                now.plus(accessTokenTtlMillis, ChronoUnit.MILLIS), now));
+        add(key);
+        log.info("Revoked all tokens of user {}", username);
+    }
+
+    public boolean isRevoked(Claims claims) {
+        BloomFilter current = filter;
+        String tokenKey = claims.getId() != null ? TOKEN_KEY + claims.getId() : null;
+        String userKey = USER_KEY + claims.getSubject();
+        boolean tokenHit = tokenKey != null && current.mightContain(tokenKey);
+        boolean userHit = current.mightContain(userKey);
+        if (!tokenHit && !userHit) {
+            return false;
+        }
+        if (tokenHit && revokedTokenRepository.existsById(tokenKey)) {
+            return true;
+        }
+        return userHit && revokedTokenRepository.findById(userKey)
+                .map(entry -> claims.getIssuedAt() == null
+                        || toLocal(claims.getIssuedAt().getTime()).isBefore(entry.getIssuedBefore()))
+                .orElse(false);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval-ms:15000}")
+    public void pollRevocations() {
+        LocalDateTime since = lastPoll.minusSeconds(POLL_OVERLAP_SECONDS);
+        lastPoll = LocalDateTime.now();
+        List<String> keys = revokedTokenRepository.findKeysCreatedAfter(since);
+        keys.forEach(this::add);
+        // Users revoked on other nodes had their roles or standing changed there
+        keys.stream()
+                .filter(key -> key.startsWith(USER_KEY))
+                .forEach(key -> eventPublisher.publishEvent(
+                        new UserInvalidationEvent(null, key.substring(USER_KEY.length()))));
+    }
+
+    // Bloom filters cannot forget keys, so expired entries are dropped by building a fresh one
+    @Scheduled(cron = "${jwt.revocation.purge-cron:0 17 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        rebuild();
+        log.debug("Purged {} expired token revocations", deleted);
+    }
+
+    // Synchronized with add() so a revocation is never put into a filter that is being replaced
+    private synchronized void rebuild() {
+        LocalDateTime started = LocalDateTime.now();
+        List<String> keys = revokedTokenRepository.findActiveKeys(started);
+        BloomFilter rebuilt = BloomFilter.create(Math.max(expectedEntries, keys.size() * 2), FALSE_POSITIVE_RATE);
+        keys.forEach(rebuilt::put);
+        filter = rebuilt;
+        lastPoll = started;
+    }
+
+    private synchronized void add(String key) {
+        filter.put(key);
+    }
+
+    private static LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -3,9 +3,12 @@ package com.civicbridge.service;
 import com.civicbridge.dto.VoiceQueryRequest;
 import com.civicbridge.model.QueryHistory;
 import com.civicbridge.repository.mongo.QueryHistoryRepository;
+import com.civicbridge.security.JwtPrincipal;
 import com.civicbridge.service.ai.AIProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -18,11 +21,33 @@ public class AIService {
 
     private final QueryHistoryRepository queryHistoryRepository;
     private final Map<String, AIProvider> aiProviders;
+    private final LiveMetrics liveMetrics;
 
     @Value("${ai.provider:MockProvider}")
     private String activeProviderName;
 
     public String processQuery(VoiceQueryRequest request) {
+        long start = System.nanoTime();
+        String response = answer(request);
+        if (response == null) {
+            // All providers failed
+            System.err.println("All AI Providers failed to process query: " + request.getQueryText());
+            return "I'm sorry, I'm having trouble connecting to the AI service right now. Please try again later.";
+        }
+        // Only answered queries count towards the query rate and latency
+        liveMetrics.recordQuery(currentRegion(), System.nanoTime() - start);
+        return response;
+    }
+
+    // The asking user's region from their access token; the endpoint is open, so there may be none
+    private static String currentRegion() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal
+                ? principal.getRegion() : null;
+    }
+
+    // The first provider's answer, or null when every enabled provider failed
+    private String answer(VoiceQueryRequest request) {
         // 1. Try Primary Provider (configured via properties)
         AIProvider primaryProvider = aiProviders.values().stream()
                 .filter(p -> p.getProviderName().equalsIgnoreCase(activeProviderName))
@@ -32,9 +57,11 @@ public class AIService {
         if (primaryProvider != null && primaryProvider.isEnabled()) {
             try {
                 String response = primaryProvider.processQuery(request);
+                liveMetrics.recordProviderCall(primaryProvider.getProviderName(), false);
                 saveQueryHistory(request, response, primaryProvider.getProviderName());
                 return response;
             } catch (Exception e) {
+                liveMetrics.recordProviderCall(primaryProvider.getProviderName(), true);
                 // Log and fall through to try other providers
                 System.err.println("Primary provider " + activeProviderName + " failed: " + e.getMessage());
             }
@@ -50,9 +77,11 @@ public class AIService {
             if (provider.isEnabled()) {
                 try {
                     String response = provider.processQuery(request);
+                    liveMetrics.recordProviderCall(provider.getProviderName(), false);
                     saveQueryHistory(request, response, provider.getProviderName());
                     return response;
                 } catch (Exception e) {
+                    liveMetrics.recordProviderCall(provider.getProviderName(), true);
                     System.err.println(
                             "Provider " + provider.getProviderName() + " failed during failover: " + e.getMessage());
                     // Continue to next provider
@@ -60,9 +89,7 @@ public class AIService {
             }
         }
 
-        // All providers failed
-        System.err.println("All AI Providers failed to process query: " + request.getQueryText());
-        return "I'm sorry, I'm having trouble connecting to the AI service right now. Please try again later.";
+        return null;
     }
 
     public String processVoiceQuery(VoiceQueryRequest request) {
@@ -1,15 +1,12 @@
 package com.civicbridge.service;
 
 import com.civicbridge.dto.ApplicationRequest;
+import com.civicbridge.dto.ApplicationSummary;
 import com.civicbridge.model.Application;
 import com.civicbridge.model.Program;
 import com.civicbridge.model.User;
 import com.civicbridge.repository.jpa.ApplicationRepository;
 import com.civicbridge.repository.jpa.ProgramRepository;
-import com.civicbridge.repository.jpa.UserRepository;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -20,22 +17,21 @@ public class ApplicationService {
 
         private final ApplicationRepository applicationRepository;
         private final ProgramRepository programRepository;
-        private final UserRepository userRepository;
+        private final UserPrincipalCache userPrincipalCache;
+        private final LiveMetrics liveMetrics;
 
         public ApplicationService(ApplicationRepository applicationRepository,
                         ProgramRepository programRepository,
-                        UserRepository userRepository) {
+                        UserPrincipalCache userPrincipalCache,
+                        LiveMetrics liveMetrics) {
                 this.applicationRepository = applicationRepository;
                 this.programRepository = programRepository;
-                this.userRepository = userRepository;
+                this.userPrincipalCache = userPrincipalCache;
+                this.liveMetrics = liveMetrics;
         }
 
-        public Application submitApplication(ApplicationRequest applicationRequest) {
-                String username = ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal())
-                                .getUsername();
-
-                User user = userRepository.findByUsername(username)
-                                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        public ApplicationSummary submitApplication(ApplicationRequest applicationRequest) {
+                User user = userPrincipalCache.currentUser();
 
                 Program program = programRepository.findById(applicationRequest.getProgramId())
                                 .orElseThrow(() -> new RuntimeException("Program not found"));
@@ -46,16 +42,14 @@ public class ApplicationService {
                 application.setCreatedAt(LocalDateTime.now());
                 application.setStatus(Application.ApplicationStatus.PENDING);
 
-                return applicationRepository.save(application);
+                ApplicationSummary submitted = ApplicationSummary.from(applicationRepository.save(application));
+                liveMetrics.recordApplication();
+                return submitted;
         }
 
-        public List<Application> getMyApplications() {
-                String username = ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal())
-                                .getUsername();
-
-                User user = userRepository.findByUsername(username)
-                                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        public List<ApplicationSummary> getMyApplications() {
+                User user = userPrincipalCache.currentUser();
 
-                return applicationRepository.findByUser_Id(user.getId());
+                return applicationRepository.findSummariesByUserId(user.getId());
         }
 }
@@ -6,6 +6,7 @@ import com.civicbridge.repository.jpa.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -16,7 +17,10 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailNotificationService emailNotificationService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TransactionTemplate transactionTemplate;
     private final StatsService statsService;
+    private final LiveMetrics liveMetrics;
 
     public User register(RegisterRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
@@ -36,22 +40,29 @@ public class AuthService {
         user.setLatitude(request.getLatitude());
         user.setLongitude(request.getLongitude());
         user.setRegion(request.getRegion());
+        user.setAge(request.getAge());
+        user.setAnnualIncome(request.getAnnualIncome());
+        user.setOccupation(request.getOccupation());
 
         Set<com.civicbridge.model.Role> roles = new HashSet<>();
         roles.add(com.civicbridge.model.Role.ROLE_USER);
         user.setRoles(roles);
 
-        User savedUser = userRepository.save(user);
-
-        // Broadcast stats update
-        statsService.broadcastStats();
-
-        // Send welcome email
-        emailNotificationService.sendNotification(
-                savedUser.getEmail(),
-                "Welcome to CivicBridge AI",
-                "Hello " + savedUser.getUsername()
-                        + ",\n\nWelcome to CivicBridge AI! We are glad to have you on board.");
+        // The password is hashed above, outside the transaction, so no connection is held while it runs
+        User savedUser = transactionTemplate.execute(status -> {
+            User saved = userRepository.save(user);
+            // Committed with the user, sent by the outbox dispatcher
+            emailNotificationService.sendNotification(
+                    saved.getEmail(),
+                    "Welcome to CivicBridge AI",
+                    "Hello " + saved.getUsername()
+                            + ",\n\nWelcome to CivicBridge AI! We are glad to have you on board.");
+            return saved;
+        });
+        // A username that was deleted and registered again must not resolve to the old account
+        userPrincipalCache.invalidate(savedUser);
+        statsService.recordUsersAdded(1);
+        liveMetrics.recordRegistration();
 
         return savedUser;
     }
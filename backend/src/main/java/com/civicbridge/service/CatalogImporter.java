@@ -0,0 +1,175 @@
+package com.civicbridge.service;
+
+import com.civicbridge.dto.ImportResult;
+import com.civicbridge.exception.ApiException;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Streams catalog records out of a CSV or NDJSON request body and persists them in
+ * fixed-size batches, each in its own transaction, so heap use does not grow with the
+ * size of the upload. A batch the database rejects ends the import; the batches before it
+ * stay committed and the result counts the failed one as rejected.
+ */
+@Component
+@Slf4j
+public class CatalogImporter {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    // Matches hibernate.jdbc.batch_size and the id sequences' allocationSize
+    private static final int BATCH_SIZE = 50;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public CatalogImporter(ObjectMapper objectMapper, Validator validator, TransactionTemplate transactionTemplate) {
+        this.objectMapper = objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.csvMapper = CsvMapper.builder()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public <T> ImportResult importRecords(InputStream body, String contentType, Class<T> type,
+            Consumer<T> sanitizer, Consumer<List<T>> batchWriter) {
+        long imported = 0;
+        long rejected = 0;
+        List<String> errors = new ArrayList<>();
+        List<T> batch = new ArrayList<>(BATCH_SIZE);
+        long batchStart = 0;
+
+        try (MappingIterator<T> records = open(body, contentType, type)) {
+            long recordNumber = 0;
+            while (true) {
+                T record;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    recordNumber++;
+                    record = records.nextValue();
+                } catch (JsonParseException e) {
+                    // The stream itself is malformed; nothing after this point can be trusted
+                    rejected++;
+                    addError(errors, recordNumber, "Malformed input, import stopped: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    rejected++;
+                    addError(errors, recordNumber, e.getOriginalMessage());
+                    continue;
+                }
+
+                sanitizer.accept(record);
+                Set<ConstraintViolation<T>> violations = validator.validate(record);
+                if (!violations.isEmpty()) {
+                    rejected++;
+                    addError(errors, recordNumber, violations.stream()
+                            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                            .collect(Collectors.joining(", ")));
+                    continue;
+                }
+
+                if (batch.isEmpty()) {
+                    batchStart = recordNumber;
+                }
+                batch.add(record);
+                if (batch.size() == BATCH_SIZE) {
+                    int size = batch.size();
+                    String failure = flush(batch, batchWriter);
+                    if (failure != null) {
+                        // Earlier batches are committed; report them rather than failing the whole request
+                        rejected += size;
+                        report(errors, "Records " + batchStart + "-" + recordNumber + " not saved, import stopped: "
+                                + failure);
+                        return result(type, imported, rejected, errors);
+                    }
+                    imported += size;
+                }
+            }
+            int size = batch.size();
+            String failure = flush(batch, batchWriter);
+            if (failure != null) {
+                rejected += size;
+                report(errors, "Records " + batchStart + "-" + recordNumber + " not saved: " + failure);
+            } else {
+                imported += size;
+            }
+        } catch (IOException e) {
+            throw new ApiException("Failed to read import body: " + e.getMessage(), e);
+        }
+
+        return result(type, imported, rejected, errors);
+    }
+
+    private static ImportResult result(Class<?> type, long imported, long rejected, List<String> errors) {
+        log.info("Imported {} {} records ({} rejected)", imported, type.getSimpleName(), rejected);
+        return new ImportResult(imported, rejected, errors);
+    }
+
+    // Writes and clears the batch; returns why it was rolled back, or null once it has committed
+    private <T> String flush(List<T> batch, Consumer<List<T>> batchWriter) {
+        if (batch.isEmpty()) {
+            return null;
+        }
+        try {
+            // Each batch commits on its own, which also clears the persistence context between batches
+            transactionTemplate.executeWithoutResult(status -> batchWriter.accept(batch));
+            return null;
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Import batch of {} records rolled back", batch.size(), e);
+            return e.getMostSpecificCause().getMessage();
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private <T> MappingIterator<T> open(InputStream body, String contentType, Class<T> type) throws IOException {
+        if (contentType != null && contentType.startsWith(CSV)) {
+            CsvSchema schema = CsvSchema.emptySchema().withHeader();
+            return csvMapper.readerFor(type).with(schema).readValues(body);
+        }
+        if (contentType != null && contentType.startsWith(NDJSON)) {
+            return objectMapper.readerFor(type).readValues(body);
+        }
+        throw new ApiException("Unsupported import format: " + contentType + ". Use " + CSV + " or " + NDJSON);
+    }
+
+    private static void addError(List<String> errors, long recordNumber, String message) {
+        report(errors, "Record " + recordNumber + ": " + message);
+    }
+
+    private static void report(List<String> errors, String error) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.civicbridge.service;
+
+import com.civicbridge.config.BinaryFormatConfig;
+import com.civicbridge.exception.ApiException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds catalog list responses already serialized (plain and gzip, in each negotiated
+ * format) so that repeated reads skip both the database and Jackson. Each catalog has a version that
+ * is bumped on every write; payloads built for an older version are rebuilt lazily
+ * on the next read of the same filter.
+ */
+@Component
+@Slf4j
+public class CatalogPayloadCache {
+
+    // Upper bound on distinct filter/cursor combinations kept per node
+    private static final int MAX_ENTRIES = 2000;
+
+    public enum Catalog {
+        PROGRAMS,
+        HEALTHCARE
+    }
+
+    public enum Format {
+        JSON(MediaType.APPLICATION_JSON),
+        SMILE(MediaType.parseMediaType("application/x-jackson-smile")),
+        CBOR(MediaType.APPLICATION_CBOR);
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+    }
+
+    public record Payload(long version, Format format, String etag, byte[] body, byte[] gzip) {
+    }
+
+    private final Map<Format, ObjectMapper> mappers = new EnumMap<>(Format.class);
+
+    private final Map<Catalog, AtomicLong> versions = new EnumMap<>(Map.of(
+            Catalog.PROGRAMS, new AtomicLong(1),
+            Catalog.HEALTHCARE, new AtomicLong(1)));
+    private final Map<String, Payload> payloads = new ConcurrentHashMap<>();
+
+    public CatalogPayloadCache(ObjectMapper objectMapper) {
+        mappers.put(Format.JSON, objectMapper);
+        mappers.put(Format.SMILE, BinaryFormatConfig.smileMapper(objectMapper));
+        mappers.put(Format.CBOR, BinaryFormatConfig.cborMapper(objectMapper));
+    }
+
+    public Payload get(Catalog catalog, String key, Supplier<?> loader) {
+        return get(catalog, key, Format.JSON, loader);
+    }
+
+    public Payload get(Catalog catalog, String key, Format format, Supplier<?> loader) {
+        // Read the version before loading so a write racing with the load leaves the payload stale
+        long version = getVersion(catalog);
+        String cacheKey = catalog.name() + ":" + format + ":" + key;
+
+        Payload cached = payloads.get(cacheKey);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        Payload built = render(version, format, loader.get());
+        if (cached != null || payloads.size() < MAX_ENTRIES) {
+            payloads.put(cacheKey, built);
+        }
+        return built;
+    }
+
+    public long getVersion(Catalog catalog) {
+        return versions.get(catalog).get();
+    }
+
+    public void invalidate(Catalog catalog) {
+        long version = versions.get(catalog).incrementAndGet();
+        String prefix = catalog.name() + ":";
+        payloads.keySet().removeIf(k -> k.startsWith(prefix));
+        log.debug("{} catalog payloads invalidated, now at version {}", catalog, version);
+    }
+
+    private Payload render(long version, Format format, Object body) {
+        try {
+            byte[] bytes = mappers.get(format).writeValueAsBytes(body);
+            String etag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+            return new Payload(version, format, etag, bytes, gzip(bytes));
+        } catch (JsonProcessingException e) {
+            throw new ApiException("Failed to serialize catalog payload", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(data.length / 4, 64));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new ApiException("Failed to compress catalog payload", e);
+        }
+        return out.toByteArray();
+    }
+}
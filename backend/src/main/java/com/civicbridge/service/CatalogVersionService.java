@@ -0,0 +1,72 @@
+package com.civicbridge.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.BiConsumer;
+
+/**
+ * Issues catalog versions for program and facility writes and tells the sync endpoint how far it may
+ * safely read.
+ *
+ * Versions come from one Postgres sequence shared by both tables, so they are unique and increasing,
+ * but they are not committed in the order they are issued: a write that drew version 10 can commit
+ * after one that drew 11. A client that synced 11 in that window would never see 10. Every version
+ * therefore stays "in flight" until its transaction completes, and {@link #readableUpTo()} stops
+ * readers just below the oldest one still open. This assumes a single backend instance writes the
+ * catalog.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogVersionService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+
+    /**
+     * Draws {@code count} versions in one round trip. Must be called inside the transaction that writes
+     * the rows; the versions are released when that transaction commits or rolls back.
+     */
+    public List<Long> next(int count) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Catalog versions must be drawn inside a transaction");
+        }
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT nextval('catalog_version_seq') FROM generate_series(1, ?)", Long.class, count);
+        inFlight.addAll(versions);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                versions.forEach(inFlight::remove);
+            }
+        });
+        return versions;
+    }
+
+    public long next() {
+        return next(1).get(0);
+    }
+
+    /** Stamps a batch of rows with fresh versions, in list order. */
+    public <T> void stamp(List<T> rows, BiConsumer<T, Long> setter) {
+        List<Long> versions = next(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            setter.accept(rows.get(i), versions.get(i));
+        }
+    }
+
+    /**
+     * Highest version a reader may include without risking a gap. Versions above it may belong to
+     * transactions that have not committed yet.
+     */
+    public long readableUpTo() {
+        Long oldestOpen = inFlight.ceiling(Long.MIN_VALUE);
+        return oldestOpen == null ? Long.MAX_VALUE : oldestOpen - 1;
+    }
+}
@@ -0,0 +1,58 @@
+package com.civicbridge.service;
+
+import com.civicbridge.dto.ProgramSummary;
+import com.civicbridge.model.User;
+import com.civicbridge.repository.jpa.ProgramRepository;
+import com.civicbridge.service.eligibility.EligibilityIndex;
+import com.civicbridge.service.eligibility.EligibilityProfile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EligibilityService {
+
+    private final ProgramRepository programRepository;
+    private final UserPrincipalCache userPrincipalCache;
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(long version, EligibilityIndex index) {
+    }
+
+    public List<ProgramSummary> getRecommendedPrograms(String category) {
+        User user = userPrincipalCache.currentUser();
+
+        return currentIndex().match(EligibilityProfile.from(user), category);
+    }
+
+    // Called on every program write; the index is rebuilt on the next lookup
+    public void invalidate() {
+        catalogVersion.incrementAndGet();
+    }
+
+    private EligibilityIndex currentIndex() {
+        Snapshot current = snapshot;
+        if (current != null && current.version() == catalogVersion.get()) {
+            return current.index();
+        }
+        synchronized (this) {
+            long version = catalogVersion.get();
+            if (snapshot != null && snapshot.version() == version) {
+                return snapshot.index();
+            }
+            long start = System.currentTimeMillis();
+            EligibilityIndex index = EligibilityIndex.build(programRepository.findByIsActiveTrue());
+            snapshot = new Snapshot(version, index);
+            log.info("Eligibility index built over {} programs in {} ms", index.size(),
+                    System.currentTimeMillis() - start);
+            return index;
+        }
+    }
+}
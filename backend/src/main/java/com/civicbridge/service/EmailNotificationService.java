@@ -1,41 +1,35 @@
 package com.civicbridge.service;
 
+import com.civicbridge.model.EmailOutboxMessage;
+import com.civicbridge.repository.jpa.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
+/**
+ * Queues emails in the outbox; EmailOutboxDispatcher delivers them. Queueing joins the caller's
+ * transaction, so an email is sent only if the change that triggered it commits.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailNotificationService {
 
-    private final JavaMailSender emailSender;
-
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private final EmailOutboxRepository emailOutboxRepository;
 
+    @Transactional
     public void sendNotification(String to, String subject, String body) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-
-            emailSender.send(message);
-            log.info("Email sent successfully to: {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send email to: {}", to, e);
-            // Don't rethrow, just log error for notifications
-        }
+        emailOutboxRepository.save(new EmailOutboxMessage(to, subject, body));
+        log.debug("Queued email to: {}", to);
     }
 
-    public void sendAlert(String userId, String message) {
-        // Logic to lookup user email and send alert
-        // For now, we'll just log it as a placeholder for the actual user lookup
-        log.info("Sending alert to user {}: {}", userId, message);
+    // Ids come from a pooled sequence, so a large list goes out as batched inserts
+    @Transactional
+    public void sendNotifications(List<EmailOutboxMessage> messages) {
+        emailOutboxRepository.saveAll(messages);
+        log.debug("Queued {} emails", messages.size());
     }
 }
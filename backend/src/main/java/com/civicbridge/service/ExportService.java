@@ -0,0 +1,83 @@
+package com.civicbridge.service;
+
+import com.civicbridge.repository.jpa.HealthcareFacilityRepository;
+import com.civicbridge.repository.jpa.ProgramRepository;
+import com.civicbridge.repository.mongo.QueryHistoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+/**
+ * Writes catalog and query-history data as NDJSON straight to an output stream. Rows come
+ * from database cursors and are detached once written, so heap use stays flat no matter
+ * how many records are exported.
+ */
+@Service
+@Slf4j
+public class ExportService {
+
+    private final ProgramRepository programRepository;
+    private final HealthcareFacilityRepository healthcareFacilityRepository;
+    private final QueryHistoryRepository queryHistoryRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+
+    public ExportService(ProgramRepository programRepository,
+            HealthcareFacilityRepository healthcareFacilityRepository,
+            QueryHistoryRepository queryHistoryRepository,
+            EntityManager entityManager,
+            ObjectMapper objectMapper) {
+        this.programRepository = programRepository;
+        this.healthcareFacilityRepository = healthcareFacilityRepository;
+        this.queryHistoryRepository = queryHistoryRepository;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writer();
+    }
+
+    @Transactional(readOnly = true)
+    public long exportPrograms(OutputStream out) {
+        try (Stream<?> programs = programRepository.streamAll()) {
+            return write(programs, out, true);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportFacilities(OutputStream out) {
+        try (Stream<?> facilities = healthcareFacilityRepository.streamAll()) {
+            return write(facilities, out, true);
+        }
+    }
+
+    public long exportQueryHistory(OutputStream out) {
+        try (Stream<?> history = queryHistoryRepository.streamAllBy()) {
+            return write(history, out, false);
+        }
+    }
+
+    private long write(Stream<?> rows, OutputStream out, boolean detach) {
+        long start = System.currentTimeMillis();
+        long[] count = { 0 };
+        rows.forEach(row -> {
+            try {
+                out.write(writer.writeValueAsBytes(row));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (detach) {
+                entityManager.detach(row);
+            }
+            count[0]++;
+        });
+        log.info("Exported {} records in {} ms", count[0], System.currentTimeMillis() - start);
+        return count[0];
+    }
+}
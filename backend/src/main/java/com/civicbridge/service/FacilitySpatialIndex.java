@@ -0,0 +1,147 @@
+package com.civicbridge.service;
+
+import com.civicbridge.dto.FacilityCluster;
+import com.civicbridge.exception.ApiException;
+import com.civicbridge.model.HealthcareFacility;
+import com.civicbridge.repository.jpa.HealthcareFacilityRepository;
+import com.civicbridge.service.geo.ClusterPyramid;
+import com.civicbridge.service.geo.FacilityGrid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves nearby-facility lookups from an in-memory {@link FacilityGrid} instead of scanning
+ * the table. The grid is loaded on first use; single writes are spliced into a copy of it with
+ * {@link FacilityGrid#with}, bulk imports drop it so the next lookup reloads. Map clusters
+ * come from a {@link ClusterPyramid} over the same snapshot and are cached per map tile until
+ * the snapshot changes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FacilitySpatialIndex {
+
+    // Each tile is split into 2^2 x 2^2 cluster cells, roughly 64 px apart on a 256 px tile
+    private static final int CELLS_PER_TILE_SHIFT = 2;
+    private static final int MAX_TILES_PER_REQUEST = 256;
+    private static final int MAX_CACHED_TILES = 10_000;
+
+    private final HealthcareFacilityRepository healthcareFacilityRepository;
+
+    private volatile FacilityGrid grid;
+    private volatile Clusters clusters;
+    private final Object clusterLock = new Object();
+
+    private record Clusters(FacilityGrid source, ClusterPyramid pyramid, Map<Long, List<FacilityCluster>> tiles) {
+    }
+
+    /**
+     * Facilities within the radius that carry all of {@code tags}, have {@code type} (when not null)
+     * and offer free services (when {@code freeOnly}), nearest first.
+     */
+    public List<FacilityGrid.Neighbor> withinRadius(double latitude, double longitude, double radiusKm,
+            Collection<String> tags, String type, boolean freeOnly) {
+        FacilityGrid current = currentGrid();
+        return current.withinRadius(latitude, longitude, radiusKm, current.select(tags, type, freeOnly));
+    }
+
+    public List<FacilityGrid.Neighbor> nearest(double latitude, double longitude, int k) {
+        return currentGrid().nearest(latitude, longitude, k);
+    }
+
+    /**
+     * Clusters covering the bounding box at the given map zoom. Whole tiles are returned, so the
+     * result may reach slightly past the box; a box with minLon > maxLon crosses the antimeridian.
+     */
+    public List<FacilityCluster> clusters(double minLat, double minLon, double maxLat, double maxLon, int zoom) {
+        if (minLat > maxLat) {
+            throw new ApiException("minLat must not be greater than maxLat");
+        }
+        Clusters current = currentClusters();
+        int level = Math.min(Math.max(zoom, 0) + CELLS_PER_TILE_SHIFT, ClusterPyramid.MAX_LEVEL);
+        int tileZoom = level - CELLS_PER_TILE_SHIFT;
+        int tilesAcross = 1 << tileZoom;
+
+        int x0 = ClusterPyramid.tileX(minLon, tileZoom);
+        int x1 = ClusterPyramid.tileX(maxLon, tileZoom);
+        // Tile rows count southwards, so the northern edge gives the first row
+        int y0 = ClusterPyramid.tileY(maxLat, tileZoom);
+        int y1 = ClusterPyramid.tileY(minLat, tileZoom);
+        int columns = minLon <= maxLon ? x1 - x0 + 1 : tilesAcross - x0 + x1 + 1;
+        if ((long) columns * (y1 - y0 + 1) > MAX_TILES_PER_REQUEST) {
+            throw new ApiException("Bounding box is too large for zoom level " + zoom);
+        }
+
+        List<FacilityCluster> result = new ArrayList<>();
+        for (int i = 0; i < columns; i++) {
+            int x = (x0 + i) % tilesAcross;
+            for (int y = y0; y <= y1; y++) {
+                result.addAll(tile(current, tileZoom, x, y));
+            }
+        }
+        return result;
+    }
+
+    // Called after a facility write has committed
+    public synchronized void apply(HealthcareFacility facility) {
+        if (grid == null) {
+            return;
+        }
+        grid = grid.with(facility);
+    }
+
+    public synchronized void invalidate() {
+        grid = null;
+    }
+
+    private List<FacilityCluster> tile(Clusters current, int tileZoom, int x, int y) {
+        long key = ((long) tileZoom << 58) | ((long) x << 29) | y;
+        List<FacilityCluster> cached = current.tiles().get(key);
+        if (cached != null) {
+            return cached;
+        }
+        List<FacilityCluster> built = List.copyOf(current.pyramid().clusters(tileZoom + CELLS_PER_TILE_SHIFT,
+                x << CELLS_PER_TILE_SHIFT, y << CELLS_PER_TILE_SHIFT, 1 << CELLS_PER_TILE_SHIFT));
+        if (current.tiles().size() < MAX_CACHED_TILES) {
+            current.tiles().put(key, built);
+        }
+        return built;
+    }
+
+    private Clusters currentClusters() {
+        FacilityGrid source = currentGrid();
+        Clusters current = clusters;
+        if (current != null && current.source() == source) {
+            return current;
+        }
+        synchronized (clusterLock) {
+            if (clusters == null || clusters.source() != source) {
+                clusters = new Clusters(source, ClusterPyramid.build(source.facilities()), new ConcurrentHashMap<>());
+            }
+            return clusters;
+        }
+    }
+
+    private FacilityGrid currentGrid() {
+        FacilityGrid current = grid;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (grid == null) {
+                long start = System.currentTimeMillis();
+                grid = FacilityGrid.build(healthcareFacilityRepository.findByIsActiveTrue());
+                log.info("Facility spatial index built over {} facilities in {} ms", grid.size(),
+                        System.currentTimeMillis() - start);
+            }
+            return grid;
+        }
+    }
+}
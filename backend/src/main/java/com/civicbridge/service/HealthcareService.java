@@ -1,32 +1,80 @@
 package com.civicbridge.service;
 
+import com.civicbridge.dto.CursorPage;
+import com.civicbridge.dto.FacilityCluster;
+import com.civicbridge.dto.ImportResult;
+import com.civicbridge.dto.NearbyFacility;
 import com.civicbridge.model.HealthcareFacility;
 import com.civicbridge.repository.jpa.HealthcareFacilityRepository;
+import com.civicbridge.service.geo.FacilityGrid;
+import com.civicbridge.service.hours.OperatingHours;
+import com.civicbridge.service.tags.ServiceTags;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.data.jpa.domain.Specification;
 import static com.civicbridge.repository.jpa.HealthcareFacilitySpecifications.*;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class HealthcareService {
 
     private final HealthcareFacilityRepository healthcareFacilityRepository;
+    private final CatalogPayloadCache catalogPayloadCache;
+    private final CatalogImporter catalogImporter;
+    private final CatalogVersionService catalogVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final FacilitySpatialIndex facilitySpatialIndex;
+    private final NearbyFacilityCache nearbyFacilityCache;
     private final StatsService statsService;
 
+    private static final int DEFAULT_NEARBY_LIMIT = 50;
+    private static final int MAX_NEARBY_LIMIT = 200;
+    private static final int MAX_NEAREST = 100;
+    // Half the earth's circumference: a radius that admits every facility, for unbounded KNN
+    private static final double UNBOUNDED_RADIUS_METERS = 20_037_508;
+
+    // The grid is local to each node; multi-node deployments should answer from PostGIS instead
+    @Value("${healthcare.nearby.in-memory-index:true}")
+    private boolean useInMemoryIndex;
+
     public List<HealthcareFacility> getAllFacilities() {
         return healthcareFacilityRepository.findByIsActiveTrue();
     }
 
-    public List<HealthcareFacility> getFacilitiesWithCriteria(String type, Boolean freeServices) {
+    public List<HealthcareFacility> getFacilitiesWithCriteria(String type, Boolean freeServices,
+            LocalDateTime openAt, Collection<String> tags) {
         Specification<HealthcareFacility> spec = Specification.where(isActive())
                 .and(hasType(type))
-                .and(hasFreeServices(freeServices));
+                .and(hasFreeServices(freeServices))
+                .and(hasServiceTags(ServiceTags.containsAllPattern(ServiceTags.normalize(tags))))
+                .and(isOpenAt(openAt == null ? null : OperatingHours.slotOf(openAt)));
         return healthcareFacilityRepository.findAll(spec);
     }
 
+    public CursorPage<HealthcareFacility> getFacilitiesPage(String type, Boolean freeServices, LocalDateTime openAt,
+            String cursor, Integer size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<HealthcareFacility> rows = healthcareFacilityRepository.findPageByCriteria(type, freeServices,
+                openSlot(openAt), CursorPage.decodeCursor(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, HealthcareFacility::getId);
+    }
+
     public List<HealthcareFacility> getFacilitiesByType(String type) {
         return healthcareFacilityRepository.findByType(type);
     }
@@ -35,9 +83,77 @@ public class HealthcareService {
         return healthcareFacilityRepository.findByFreeServicesTrue();
     }
 
-    public List<HealthcareFacility> getNearbyFacilities(Double latitude, Double longitude, Double radiusKm) {
-        Double radiusMeters = radiusKm * 1000;
-        return healthcareFacilityRepository.findNearbyFacilities(latitude, longitude, radiusMeters);
+    public List<NearbyFacility> getNearbyFacilities(Double latitude, Double longitude, Double radiusKm) {
+        return getNearbyFacilities(latitude, longitude, radiusKm, null, null, null, List.of(), DEFAULT_NEARBY_LIMIT);
+    }
+
+    public List<NearbyFacility> getNearbyFacilities(Double latitude, Double longitude, Double radiusKm,
+            LocalDateTime openAt, String type, Boolean freeServices, Collection<String> tags, int limit) {
+        int maxResults = Math.min(Math.max(limit, 1), MAX_NEARBY_LIMIT);
+        int slot = openSlot(openAt);
+        String normalizedType = type != null && !type.isBlank() ? type.trim().toUpperCase() : null;
+        boolean freeOnly = Boolean.TRUE.equals(freeServices);
+        SortedSet<String> wantedTags = ServiceTags.normalize(tags);
+        if (useInMemoryIndex) {
+            return facilitySpatialIndex.withinRadius(latitude, longitude, radiusKm, wantedTags, normalizedType, freeOnly)
+                    .stream()
+                    .filter(n -> slot < 0 || OperatingHours.isOpen(n.facility().getOpeningSchedule(), slot))
+                    .limit(maxResults)
+                    .map(n -> new NearbyFacility(n.facility(), n.distanceKm()))
+                    .toList();
+        }
+        List<FacilityGrid.Neighbor> cached = nearbyFacilityCache.withinRadius(latitude, longitude, radiusKm);
+        if (cached != null) {
+            return cached.stream()
+                    .filter(n -> normalizedType == null || normalizedType.equals(n.facility().getType()))
+                    .filter(n -> !freeOnly || Boolean.TRUE.equals(n.facility().getFreeServices()))
+                    .filter(n -> ServiceTags.decode(n.facility().getServiceTags()).containsAll(wantedTags))
+                    .filter(n -> slot < 0 || OperatingHours.isOpen(n.facility().getOpeningSchedule(), slot))
+                    .limit(maxResults)
+                    .map(n -> new NearbyFacility(n.facility(), n.distanceKm()))
+                    .toList();
+        }
+        String tagPattern = ServiceTags.containsAllPattern(wantedTags);
+        return loadNearby(healthcareFacilityRepository.findNearbyFacilities(latitude, longitude, radiusKm * 1000,
+                normalizedType != null ? normalizedType : "", freeOnly, tagPattern != null ? tagPattern : "%",
+                slot, maxResults));
+    }
+
+    public List<NearbyFacility> getNearestFacilities(Double latitude, Double longitude, int count) {
+        int k = Math.min(Math.max(count, 1), MAX_NEAREST);
+        if (useInMemoryIndex) {
+            return toNearby(facilitySpatialIndex.nearest(latitude, longitude, k), k);
+        }
+        return loadNearby(healthcareFacilityRepository.findNearbyFacilities(latitude, longitude,
+                UNBOUNDED_RADIUS_METERS, "", false, "%", -1, k));
+    }
+
+    public List<FacilityCluster> getClusters(double minLat, double minLon, double maxLat, double maxLon, int zoom) {
+        return facilitySpatialIndex.clusters(minLat, minLon, maxLat, maxLon, zoom);
+    }
+
+    private List<NearbyFacility> toNearby(List<FacilityGrid.Neighbor> neighbors, int maxResults) {
+        return neighbors.stream()
+                .limit(maxResults)
+                .map(n -> new NearbyFacility(n.facility(), n.distanceKm()))
+                .toList();
+    }
+
+    // -1 means "no opening-hours filter" to the repository queries
+    private static int openSlot(LocalDateTime openAt) {
+        return openAt == null ? -1 : OperatingHours.slotOf(openAt);
+    }
+
+    // The KNN query returns ids and distances only; fetch the rows by primary key and keep its order
+    private List<NearbyFacility> loadNearby(List<HealthcareFacilityRepository.FacilityDistance> hits) {
+        Map<Long, HealthcareFacility> byId = healthcareFacilityRepository
+                .findAllById(hits.stream().map(HealthcareFacilityRepository.FacilityDistance::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(HealthcareFacility::getId, Function.identity()));
+        return hits.stream()
+                .filter(hit -> byId.containsKey(hit.getId()))
+                .map(hit -> new NearbyFacility(byId.get(hit.getId()), hit.getDistanceMeters() / 1000))
+                .toList();
     }
 
     public HealthcareFacility getFacilityById(Long id) {
@@ -47,13 +163,21 @@ public class HealthcareService {
 
     public HealthcareFacility createFacility(HealthcareFacility facility) {
         sanitizeFacility(facility);
-        HealthcareFacility savedFacility = healthcareFacilityRepository.save(facility);
-        statsService.broadcastStats();
+        HealthcareFacility savedFacility = transactionTemplate.execute(status -> {
+            facility.setSyncVersion(catalogVersionService.next());
+            return healthcareFacilityRepository.save(facility);
+        });
+        statsService.recordHealthcareFacilitiesAdded(1);
+        catalogPayloadCache.invalidate(CatalogPayloadCache.Catalog.HEALTHCARE);
+        facilitySpatialIndex.apply(savedFacility);
+        nearbyFacilityCache.evict(savedFacility.getLatitude(), savedFacility.getLongitude());
         return savedFacility;
     }
 
     public HealthcareFacility updateFacility(Long id, HealthcareFacility facilityDetails) {
         HealthcareFacility facility = getFacilityById(id);
+        Double previousLatitude = facility.getLatitude();
+        Double previousLongitude = facility.getLongitude();
         facility.setName(facilityDetails.getName());
         facility.setType(facilityDetails.getType());
         facility.setServices(facilityDetails.getServices());
@@ -66,11 +190,70 @@ public class HealthcareService {
         facility.setIsActive(facilityDetails.getIsActive());
 
         sanitizeFacility(facility);
-        HealthcareFacility updatedFacility = healthcareFacilityRepository.save(facility);
-        statsService.broadcastStats();
+        HealthcareFacility updatedFacility = transactionTemplate.execute(status -> {
+            facility.setSyncVersion(catalogVersionService.next());
+            return healthcareFacilityRepository.save(facility);
+        });
+        catalogPayloadCache.invalidate(CatalogPayloadCache.Catalog.HEALTHCARE);
+        facilitySpatialIndex.apply(updatedFacility);
+        nearbyFacilityCache.evict(previousLatitude, previousLongitude);
+        nearbyFacilityCache.evict(updatedFacility.getLatitude(), updatedFacility.getLongitude());
         return updatedFacility;
     }
 
+    public ImportResult importFacilities(InputStream body, String contentType) {
+        ImportResult result = catalogImporter.importRecords(body, contentType, HealthcareFacility.class,
+                facility -> {
+                    facility.setId(null);
+                    if (facility.getIsActive() == null) {
+                        facility.setIsActive(true);
+                    }
+                    sanitizeFacility(facility);
+                },
+                batch -> {
+                    catalogVersionService.stamp(batch, HealthcareFacility::setSyncVersion);
+                    healthcareFacilityRepository.saveAll(batch);
+                });
+        if (result.getImported() > 0) {
+            statsService.recordHealthcareFacilitiesAdded(result.getImported());
+            catalogPayloadCache.invalidate(CatalogPayloadCache.Catalog.HEALTHCARE);
+            facilitySpatialIndex.invalidate();
+            nearbyFacilityCache.invalidate();
+        }
+        return result;
+    }
+
+    // Facilities saved before operating hours were parsed or services were tagged; rows whose hours cannot
+    // be parsed are retried on each startup, which is cheap because there are few of them
+    public void backfillDerivedFields() {
+        List<HealthcareFacility> changed = new ArrayList<>();
+        for (HealthcareFacility facility : healthcareFacilityRepository.findWithUnderivedFields()) {
+            boolean updated = false;
+            if (facility.getOpeningSchedule() == null) {
+                facility.setOpeningSchedule(OperatingHours.parse(facility.getOperatingHours()));
+                updated = facility.getOpeningSchedule() != null;
+            }
+            if (facility.getServiceTags() == null) {
+                facility.setServiceTags(ServiceTags.encode(ServiceTags.tokenize(facility.getServices())));
+                updated |= facility.getServiceTags() != null;
+            }
+            if (updated) {
+                changed.add(facility);
+            }
+        }
+        if (!changed.isEmpty()) {
+            // Tags are part of the published facility, so synced clients have to pick the rows up again
+            transactionTemplate.executeWithoutResult(status -> {
+                catalogVersionService.stamp(changed, HealthcareFacility::setSyncVersion);
+                healthcareFacilityRepository.saveAll(changed);
+            });
+            catalogPayloadCache.invalidate(CatalogPayloadCache.Catalog.HEALTHCARE);
+            facilitySpatialIndex.invalidate();
+            nearbyFacilityCache.invalidate();
+            log.info("Derived opening schedules and service tags for {} facilities", changed.size());
+        }
+    }
+
     private void sanitizeFacility(HealthcareFacility facility) {
         if (facility.getName() != null)
             facility.setName(facility.getName().trim());
@@ -82,5 +265,9 @@ public class HealthcareService {
             facility.setAddress(facility.getAddress().trim());
         if (facility.getContactNumber() != null)
             facility.setContactNumber(facility.getContactNumber().trim());
+        if (facility.getOperatingHours() != null)
+            facility.setOperatingHours(facility.getOperatingHours().trim());
+        facility.setOpeningSchedule(OperatingHours.parse(facility.getOperatingHours()));
+        facility.setServiceTags(ServiceTags.encode(ServiceTags.tokenize(facility.getServices())));
     }
 }
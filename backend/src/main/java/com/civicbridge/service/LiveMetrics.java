@@ -0,0 +1,115 @@
+package com.civicbridge.service;
+
+import com.civicbridge.dto.LiveStatsDTO;
+import com.civicbridge.service.eligibility.EligibilityParser;
+import com.civicbridge.service.metrics.SlidingWindowCounter;
+import com.civicbridge.service.metrics.SlidingWindowHistogram;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Last-minute activity for the admin dashboard: query, application and registration rates, AI
+ * provider error rates and query latency percentiles per region. Everything is held in lock-free
+ * sliding windows of one-second slots on this node, so recording costs a compare-and-set and
+ * reading never touches the database. Numbers are per node, not cluster-wide.
+ */
+@Service
+public class LiveMetrics {
+
+    private static final int WINDOW_SECONDS = 60;
+    private static final long SLOT_MILLIS = 1000;
+    // Regions are free text; later ones share a bucket rather than growing the map without bound
+    private static final int MAX_REGIONS = 100;
+    private static final String OTHER_REGION = "other";
+    private static final String UNKNOWN_REGION = "unknown";
+
+    private final SlidingWindowCounter queries = counter();
+    private final SlidingWindowCounter applications = counter();
+    private final SlidingWindowCounter registrations = counter();
+    private final Map<String, ProviderWindow> providers = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindowHistogram> latencyByRegion = new ConcurrentHashMap<>();
+
+    private record ProviderWindow(SlidingWindowCounter calls, SlidingWindowCounter errors) {
+    }
+
+    /**
+     * One answered AI query, however many providers it took; latency is measured by the caller. The
+     * region is the asking user's as carried in their access token, or null when not known.
+     */
+    public void recordQuery(String region, long latencyNanos) {
+        long now = System.currentTimeMillis();
+        queries.increment(now);
+        regionWindow(regionKey(region)).record(now, latencyNanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    public void recordProviderCall(String provider, boolean failed) {
+        long now = System.currentTimeMillis();
+        ProviderWindow window = providers.computeIfAbsent(provider, p -> new ProviderWindow(counter(), counter()));
+        window.calls().increment(now);
+        if (failed) {
+            window.errors().increment(now);
+        }
+    }
+
+    public void recordApplication() {
+        applications.increment(System.currentTimeMillis());
+    }
+
+    public void recordRegistration() {
+        registrations.increment(System.currentTimeMillis());
+    }
+
+    public LiveStatsDTO snapshot() {
+        long now = System.currentTimeMillis();
+        long totalCalls = 0;
+        long totalErrors = 0;
+        Map<String, Double> errorRates = new TreeMap<>();
+        for (Map.Entry<String, ProviderWindow> entry : providers.entrySet()) {
+            long calls = entry.getValue().calls().sum(now);
+            if (calls > 0) {
+                long errors = entry.getValue().errors().sum(now);
+                errorRates.put(entry.getKey(), (double) errors / calls);
+                totalCalls += calls;
+                totalErrors += errors;
+            }
+        }
+        Map<String, Double> latencyP95 = new TreeMap<>();
+        latencyByRegion.forEach((region, histogram) -> {
+            Double p95 = histogram.percentile(now, 0.95);
+            if (p95 != null) {
+                latencyP95.put(region, p95);
+            }
+        });
+        return LiveStatsDTO.builder()
+                .queriesPerMinute(queries.sum(now))
+                .applicationsPerMinute(applications.sum(now))
+                .registrationsPerMinute(registrations.sum(now))
+                .aiProviderCallsPerMinute(totalCalls)
+                .aiProviderErrorRate(totalCalls > 0 ? (double) totalErrors / totalCalls : null)
+                .aiProviderErrorRates(errorRates)
+                .queryLatencyP95MillisByRegion(latencyP95)
+                .build();
+    }
+
+    private static String regionKey(String region) {
+        String normalized = EligibilityParser.normalizeRegion(region);
+        return normalized.isEmpty() ? UNKNOWN_REGION : normalized;
+    }
+
+    private SlidingWindowHistogram regionWindow(String region) {
+        SlidingWindowHistogram histogram = latencyByRegion.get(region);
+        if (histogram != null) {
+            return histogram;
+        }
+        String key = latencyByRegion.size() < MAX_REGIONS ? region : OTHER_REGION;
+        return latencyByRegion.computeIfAbsent(key, r -> new SlidingWindowHistogram(WINDOW_SECONDS, SLOT_MILLIS));
+    }
+
+    private static SlidingWindowCounter counter() {
+        return new SlidingWindowCounter(WINDOW_SECONDS, SLOT_MILLIS);
+    }
+}
@@ -0,0 +1,260 @@
+package com.civicbridge.service;
+
+import com.civicbridge.model.HealthcareFacility;
+import com.civicbridge.repository.jpa.HealthcareFacilityRepository;
+import com.civicbridge.service.geo.FacilityGrid;
+import com.civicbridge.service.geo.Geohash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches PostGIS nearby lookups by geohash cell and radius bucket. An entry holds every active
+ * facility that any point of the cell could reach with the bucket's radius; each request then picks
+ * its own facilities out of that candidate set by exact distance.
+ *
+ * <p>The cache is least-recently-used and weighted by candidates, so its memory is bounded by
+ * {@code healthcare.nearby.cache-max-candidates} facilities however dense the cached cells are.
+ * Expired entries are dropped from the least recently used end as new ones arrive. A facility write
+ * evicts only the entries of the cells around the facility's old and new positions that reach them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NearbyFacilityCache {
+
+    static final int GEOHASH_PRECISION = 5;
+    private static final int[] RADIUS_BUCKETS_KM = { 1, 2, 5, 10, 20, 50, 100 };
+    // Cells whose candidate set would be larger are not cached; the caller queries directly
+    private static final int MAX_CANDIDATES = 2000;
+    // PostGIS measures on the spheroid, FacilityGrid on a sphere; pad the cover so the two never disagree
+    private static final double COVER_PADDING = 1.01;
+    private static final double[] CELL = Geohash.bounds("0".repeat(GEOHASH_PRECISION));
+    private static final double CELL_LAT_DEGREES = CELL[2] - CELL[0];
+    private static final double CELL_LON_DEGREES = CELL[3] - CELL[1];
+    // Cells are widest at the equator, so no entry's cover exceeds its bucket by more than this
+    private static final double MAX_HALF_DIAGONAL_KM = FacilityGrid.distanceKm(0, 0, CELL_LAT_DEGREES / 2,
+            CELL_LON_DEGREES / 2);
+
+    private final HealthcareFacilityRepository healthcareFacilityRepository;
+
+    // Other nodes' writes are not seen here, so entries also expire
+    @Value("${healthcare.nearby.cache-ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${healthcare.nearby.cache-max-candidates:200000}")
+    private long maxCandidates;
+
+    // Guarded by this; access order makes iteration run least recently used first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // Candidates held across all entries, guarded by this
+    private long weight;
+    private final AtomicLong generation = new AtomicLong();
+
+    private record Entry(double centerLat, double centerLon, double coverKm, List<HealthcareFacility> candidates,
+            long loadedAt) {
+    }
+
+    /**
+     * Active facilities within {@code radiusKm} of the point, nearest first, or {@code null} when the
+     * radius is beyond the largest bucket or the area is too dense to cache.
+     */
+    public List<FacilityGrid.Neighbor> withinRadius(double latitude, double longitude, double radiusKm) {
+        int bucket = bucketFor(radiusKm);
+        if (bucket < 0) {
+            return null;
+        }
+        String key = key(Geohash.encode(latitude, longitude, GEOHASH_PRECISION), bucket);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null || isExpired(entry, System.currentTimeMillis())) {
+            entry = load(key, bucket);
+            if (entry == null) {
+                return null;
+            }
+        }
+
+        List<FacilityGrid.Neighbor> result = new ArrayList<>();
+        for (HealthcareFacility facility : entry.candidates()) {
+            double distance = FacilityGrid.distanceKm(latitude, longitude, facility.getLatitude(),
+                    facility.getLongitude());
+            if (distance <= radiusKm) {
+                result.add(new FacilityGrid.Neighbor(facility, distance));
+            }
+        }
+        result.sort(Comparator.comparingDouble(FacilityGrid.Neighbor::distanceKm));
+        return result;
+    }
+
+    /**
+     * Drops the entries whose cover reaches the point. Call after a facility write has committed, with
+     * the facility's previous position as well as its new one, since the entries listing it are the
+     * ones that reached where it was.
+     */
+    public void evict(Double latitude, Double longitude) {
+        generation.incrementAndGet();
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        int cached;
+        synchronized (this) {
+            cached = entries.size();
+        }
+        List<String> keys = new ArrayList<>();
+        for (int bucket : RADIUS_BUCKETS_KM) {
+            if (!keysAround(latitude, longitude, bucket, cached - keys.size(), keys)) {
+                // Probing the cells would take longer than checking every entry
+                evictScanning(latitude, longitude);
+                return;
+            }
+        }
+        synchronized (this) {
+            for (String key : keys) {
+                Entry entry = entries.get(key);
+                if (entry != null && reaches(entry, latitude, longitude)) {
+                    remove(key);
+                }
+            }
+        }
+    }
+
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+        weight = 0;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private Entry load(String key, int bucket) {
+        // Read the generation before loading so a write racing with the load keeps it out of the cache
+        long loadedGeneration = generation.get();
+        double[] cell = Geohash.bounds(key.substring(0, GEOHASH_PRECISION));
+        double centerLat = (cell[0] + cell[2]) / 2;
+        double centerLon = (cell[1] + cell[3]) / 2;
+        // The cell is widest on its side nearer the equator
+        double halfDiagonal = Math.max(FacilityGrid.distanceKm(centerLat, centerLon, cell[0], cell[1]),
+                FacilityGrid.distanceKm(centerLat, centerLon, cell[2], cell[1]));
+        double coverKm = (bucket + halfDiagonal) * COVER_PADDING;
+
+        List<HealthcareFacilityRepository.FacilityDistance> hits = healthcareFacilityRepository.findNearbyFacilities(
+                centerLat, centerLon, coverKm * 1000, "", false, "%", -1, MAX_CANDIDATES + 1);
+        if (hits.size() > MAX_CANDIDATES) {
+            log.debug("Nearby cell {} holds more than {} facilities, not cached", key, MAX_CANDIDATES);
+            return null;
+        }
+        List<HealthcareFacility> candidates = hits.isEmpty() ? List.of() : healthcareFacilityRepository.findAllById(
+                hits.stream().map(HealthcareFacilityRepository.FacilityDistance::getId).toList());
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(centerLat, centerLon, coverKm, List.copyOf(candidates), now);
+        synchronized (this) {
+            if (generation.get() == loadedGeneration) {
+                remove(key);
+                entries.put(key, entry);
+                weight += weightOf(entry);
+                trim(now);
+            }
+        }
+        return entry;
+    }
+
+    // Drops expired entries from the least recently used end, and live ones too while over the weight cap
+    private void trim(long now) {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (eldest.hasNext()) {
+            Entry entry = eldest.next();
+            if (weight <= maxCandidates && !isExpired(entry, now)) {
+                return;
+            }
+            eldest.remove();
+            weight -= weightOf(entry);
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            weight -= weightOf(removed);
+        }
+    }
+
+    private synchronized void evictScanning(double latitude, double longitude) {
+        Iterator<Entry> all = entries.values().iterator();
+        while (all.hasNext()) {
+            Entry entry = all.next();
+            if (reaches(entry, latitude, longitude)) {
+                all.remove();
+                weight -= weightOf(entry);
+            }
+        }
+    }
+
+    /**
+     * Adds the keys of the bucket's entries whose cover could reach the point, stepping one cell at a
+     * time across the box the largest such cover spans; returns false, having added nothing, when that
+     * would take more than {@code limit} probes.
+     */
+    private static boolean keysAround(double latitude, double longitude, int bucket, int limit, List<String> keys) {
+        double reachDegrees = Math.toDegrees((bucket + MAX_HALF_DIAGONAL_KM) * COVER_PADDING
+                / FacilityGrid.EARTH_RADIUS_KM);
+        double minLat = Math.max(-90, latitude - reachDegrees);
+        double maxLat = Math.min(90, latitude + reachDegrees);
+        double poleward = Math.max(Math.abs(minLat), Math.abs(maxLat));
+        double lonReach = poleward < 90 ? reachDegrees / Math.cos(Math.toRadians(poleward)) : 180;
+        long rows = (long) Math.ceil((maxLat - minLat) / CELL_LAT_DEGREES) + 1;
+        long columns = lonReach >= 180 ? Math.round(360 / CELL_LON_DEGREES)
+                : (long) Math.ceil(2 * lonReach / CELL_LON_DEGREES) + 1;
+        if (rows * columns > limit) {
+            return false;
+        }
+        double minLon = lonReach >= 180 ? -180 : longitude - lonReach;
+        for (long row = 0; row < rows; row++) {
+            double lat = Math.min(minLat + row * CELL_LAT_DEGREES, 90 - CELL_LAT_DEGREES / 2);
+            for (long column = 0; column < columns; column++) {
+                double lon = minLon + column * CELL_LON_DEGREES;
+                keys.add(key(Geohash.encode(lat, ((lon + 180) % 360 + 360) % 360 - 180, GEOHASH_PRECISION), bucket));
+            }
+        }
+        return true;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.loadedAt() > ttlSeconds * 1000;
+    }
+
+    private static boolean reaches(Entry entry, double latitude, double longitude) {
+        return FacilityGrid.distanceKm(entry.centerLat(), entry.centerLon(), latitude, longitude) <= entry.coverKm();
+    }
+
+    // Empty cells still cost a map entry
+    private static long weightOf(Entry entry) {
+        return Math.max(1, entry.candidates().size());
+    }
+
+    private static String key(String cell, int bucket) {
+        return cell + ":" + bucket;
+    }
+
+    // Smallest bucket holding the radius, or -1 when it is larger than every bucket
+    static int bucketFor(double radiusKm) {
+        for (int bucket : RADIUS_BUCKETS_KM) {
+            if (radiusKm <= bucket) {
+                return bucket;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,18 +1,37 @@
 package com.civicbridge.service;
 
+import com.civicbridge.dto.CursorPage;
+import com.civicbridge.dto.ImportResult;
+import com.civicbridge.dto.ProgramSummary;
 import com.civicbridge.model.Program;
 import com.civicbridge.repository.jpa.ProgramRepository;
+import com.civicbridge.service.alerts.ApplicationDeadlines;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ProgramService {
 
     private final ProgramRepository programRepository;
+    private final CatalogPayloadCache catalogPayloadCache;
+    private final EligibilityService eligibilityService;
+    private final CatalogImporter catalogImporter;
+    private final CatalogVersionService catalogVersionService;
+    private final TransactionTemplate transactionTemplate;
     private final StatsService statsService;
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     public List<Program> getAllPrograms() {
         return programRepository.findByIsActiveTrue();
     }
@@ -29,6 +48,19 @@ public class ProgramService {
         return programRepository.findByFilters(category, region);
     }
 
+    public CursorPage<ProgramSummary> getProgramsPage(String category, String region, String cursor,
+            Integer size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<ProgramSummary> rows = programRepository.findSummaryPageByFilters(category, region,
+                CursorPage.decodeCursor(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, ProgramSummary::getId);
+    }
+
+    public Slice<Program> searchPrograms(String query, String region, int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+        return programRepository.search(query.trim(), region, PageRequest.of(Math.max(page, 0), pageSize));
+    }
+
     public Program getProgramById(Long id) {
         return programRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Program not found"));
@@ -36,8 +68,13 @@ public class ProgramService {
 
     public Program createProgram(Program program) {
         sanitizeProgram(program);
-        Program savedProgram = programRepository.save(program);
-        statsService.broadcastStats();
+        Program savedProgram = transactionTemplate.execute(status -> {
+            program.setSyncVersion(catalogVersionService.next());
+            return programRepository.save(program);
+        });
+        statsService.recordProgramsAdded(1);
+        catalogPayloadCache.invalidate(CatalogPayloadCache.Catalog.PROGRAMS);
+        eligibilityService.invalidate();
         return savedProgram;
     }
 
@@ -55,11 +92,50 @@ public class ProgramService {
         program.setActive(programDetails.isActive());
 
         sanitizeProgram(program);
-        Program updatedProgram = programRepository.save(program);
-        statsService.broadcastStats();
+        Program updatedProgram = transactionTemplate.execute(status -> {
+            program.setSyncVersion(catalogVersionService.next());
+            return programRepository.save(program);
+        });
+        catalogPayloadCache.invalidate(CatalogPayloadCache.Catalog.PROGRAMS);
+        eligibilityService.invalidate();
         return updatedProgram;
     }
 
+    public ImportResult importPrograms(InputStream body, String contentType) {
+        ImportResult result = catalogImporter.importRecords(body, contentType, Program.class,
+                program -> {
+                    program.setId(null);
+                    program.setImported(true);
+                    sanitizeProgram(program);
+                },
+                batch -> {
+                    catalogVersionService.stamp(batch, Program::setSyncVersion);
+                    programRepository.saveAll(batch);
+                });
+        if (result.getImported() > 0) {
+            statsService.recordProgramsAdded(result.getImported());
+            catalogPayloadCache.invalidate(CatalogPayloadCache.Catalog.PROGRAMS);
+            eligibilityService.invalidate();
+        }
+        return result;
+    }
+
+    // Programs saved before deadlines were parsed. The date is not part of the published program, so
+    // synced clients and cached payloads are unaffected; text without a date is retried on each startup
+    public void backfillDerivedFields() {
+        List<Program> changed = new ArrayList<>();
+        for (Program program : programRepository.findWithUnderivedFields()) {
+            program.setDeadlineDate(ApplicationDeadlines.parse(program.getApplicationDeadline()));
+            if (program.getDeadlineDate() != null) {
+                changed.add(program);
+            }
+        }
+        if (!changed.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> programRepository.saveAll(changed));
+            log.info("Parsed application deadlines for {} programs", changed.size());
+        }
+    }
+
     private void sanitizeProgram(Program program) {
         if (program.getName() != null)
             program.setName(program.getName().trim());
@@ -69,6 +145,7 @@ public class ProgramService {
             program.setCategory(program.getCategory().trim().toUpperCase());
         if (program.getRegion() != null)
             program.setRegion(program.getRegion().trim());
+        program.setDeadlineDate(ApplicationDeadlines.parse(program.getApplicationDeadline()));
         // Add more sanitization as needed (e.g. tag stripping for HTML if allowed)
     }
 }
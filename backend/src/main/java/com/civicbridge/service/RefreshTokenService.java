@@ -0,0 +1,108 @@
+package com.civicbridge.service;
+
+import com.civicbridge.exception.ApiException;
+import com.civicbridge.model.RefreshToken;
+import com.civicbridge.model.User;
+import com.civicbridge.repository.jpa.RefreshTokenRepository;
+import com.civicbridge.repository.jpa.UserRepository;
+import com.civicbridge.security.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Long-lived, single-use refresh tokens. Each refresh consumes the presented token and issues a new
+ * one; a consumed token that shows up again has been copied, so every session of its user is ended.
+ * A token ended by logout is refused without that, since another tab or device may still hold it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshTokenTtlMillis;
+
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    public String issue(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setUserId(user.getId());
+        refreshToken.setExpiresAt(LocalDateTime.now().plus(refreshTokenTtlMillis, ChronoUnit.MILLIS));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    // The reuse branch throws after revoking, and those revocations must stick
+    @Transactional(noRollbackFor = ApiException.class)
+    public Rotation rotate(String token) {
+        RefreshToken current = token == null ? null : refreshTokenRepository.findByTokenHash(hash(token)).orElse(null);
+        if (current == null || current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new ApiException("Invalid refresh token");
+        }
+        User user = userRepository.findById(current.getUserId())
+                .orElseThrow(() -> new ApiException("Invalid refresh token"));
+        if (refreshTokenRepository.markRevoked(current.getId(), LocalDateTime.now(),
+                RefreshToken.RevocationReason.ROTATED) == 0) {
+            if (refreshTokenRepository.findRevokedReason(current.getId()).orElse(null)
+                    == RefreshToken.RevocationReason.ROTATED) {
+                log.warn("Refresh token reused for user {}; revoking all of their sessions", user.getUsername());
+                refreshTokenRepository.revokeAllByUserId(user.getId(), LocalDateTime.now(),
+                        RefreshToken.RevocationReason.REVOKED);
+                tokenRevocationService.revokeAll(user.getUsername());
+            }
+            throw new ApiException("Invalid refresh token");
+        }
+        return new Rotation(user, issue(user));
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        if (token != null) {
+            refreshTokenRepository.findByTokenHash(hash(token))
+                    .ifPresent(t -> refreshTokenRepository.markRevoked(t.getId(), LocalDateTime.now(),
+                            RefreshToken.RevocationReason.LOGGED_OUT));
+        }
+    }
+
+    @Scheduled(cron = "${jwt.refresh-purge-cron:0 47 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.debug("Purged {} expired refresh tokens", deleted);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
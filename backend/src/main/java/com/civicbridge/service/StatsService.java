@@ -4,29 +4,133 @@ import com.civicbridge.dto.DashboardStatsDTO;
 import com.civicbridge.repository.jpa.HealthcareFacilityRepository;
 import com.civicbridge.repository.jpa.ProgramRepository;
 import com.civicbridge.repository.jpa.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Dashboard totals, kept in memory so reading or broadcasting them never touches the database,
+ * together with the last-minute activity from {@link LiveMetrics}.
+ * Write paths on this node report what they added once it has committed; rows written by other
+ * nodes, or by anything that bypasses the services, are picked up by the periodic reconciliation
+ * against count(*).
+ *
+ * <p>Changes are not pushed one by one: they mark the totals dirty, and at most one broadcast per
+ * {@code stats.broadcast-interval-ms} carries the latest values. A bulk import or a registration
+ * spike therefore costs subscribers one message per interval, not one per row. The public
+ * {@value #PUBLIC_TOPIC} only gets the totals; the live metrics are admin-only, like GET /stats,
+ * and go with the totals to {@value #ADMIN_TOPIC}, whose subscribers StompAuthChannelInterceptor
+ * checks. Live metrics change as their window slides, so the admin topic also gets a broadcast
+ * every {@code stats.live-interval-ms} when nothing else has gone out.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StatsService {
 
+    public static final String PUBLIC_TOPIC = "/topic/stats";
+    public static final String ADMIN_TOPIC = "/topic/admin/stats";
+
     private final UserRepository userRepository;
     private final ProgramRepository programRepository;
     private final HealthcareFacilityRepository healthcareFacilityRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+    private final LiveMetrics liveMetrics;
 
-    public void broadcastStats() {
-        DashboardStatsDTO stats = DashboardStatsDTO.builder()
-                .totalUsers(userRepository.count())
-                .totalPrograms(programRepository.count())
-                .totalHealthcareFacilities(healthcareFacilityRepository.count())
+    @Value("${stats.live-interval-ms:5000}")
+    private long liveIntervalMillis;
+
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong programs = new AtomicLong();
+    private final AtomicLong healthcareFacilities = new AtomicLong();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    // Only touched by the scheduled flush
+    private long lastBroadcastAt;
+
+    public void recordUsersAdded(long count) {
+        users.addAndGet(count);
+        markDirty();
+    }
+
+    public void recordProgramsAdded(long count) {
+        programs.addAndGet(count);
+        markDirty();
+    }
+
+    public void recordHealthcareFacilitiesAdded(long count) {
+        healthcareFacilities.addAndGet(count);
+        markDirty();
+    }
+
+    private void markDirty() {
+        dirty.set(true);
+        meterRegistry.counter("stats.updates").increment();
+    }
+
+    public DashboardStatsDTO currentStats() {
+        return DashboardStatsDTO.builder()
+                .totalUsers(users.get())
+                .totalPrograms(programs.get())
+                .totalHealthcareFacilities(healthcareFacilities.get())
+                .live(liveMetrics.snapshot())
                 .build();
+    }
+
+    @Scheduled(fixedDelayString = "${stats.broadcast-interval-ms:1000}")
+    public void broadcastStats() {
+        long now = System.currentTimeMillis();
+        boolean changed = dirty.getAndSet(false);
+        if (!changed && now - lastBroadcastAt < liveIntervalMillis) {
+            return;
+        }
+        DashboardStatsDTO stats = currentStats();
+        log.debug("Broadcasting stats: {}", stats);
+        if (changed) {
+            send(PUBLIC_TOPIC, DashboardStatsDTO.builder()
+                    .totalUsers(stats.getTotalUsers())
+                    .totalPrograms(stats.getTotalPrograms())
+                    .totalHealthcareFacilities(stats.getTotalHealthcareFacilities())
+                    .build());
+        }
+        send(ADMIN_TOPIC, stats);
+        lastBroadcastAt = now;
+    }
+
+    private void send(String topic, DashboardStatsDTO stats) {
+        messagingTemplate.convertAndSend(topic, stats);
+        meterRegistry.counter("stats.broadcasts", "topic", topic).increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${stats.reconcile-interval-ms:300000}",
+            initialDelayString = "${stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long drift = reconcile(users, userRepository::count)
+                + reconcile(programs, programRepository::count)
+                + reconcile(healthcareFacilities, healthcareFacilityRepository::count);
+        if (drift != 0) {
+            markDirty();
+            log.info("Reconciled dashboard stats with the database (off by {}): {}", drift, currentStats());
+        }
+    }
 
-        log.info("Broadcasting stats: {}", stats);
-        messagingTemplate.convertAndSend("/topic/stats", stats);
+    // Applies the difference rather than overwriting, so an increment that lands while the count runs
+    // is kept; at worst a row is counted twice or not at all until the next reconciliation
+    private static long reconcile(AtomicLong total, LongSupplier query) {
+        long before = total.get();
+        long drift = query.getAsLong() - before;
+        total.addAndGet(drift);
+        return Math.abs(drift);
     }
 }
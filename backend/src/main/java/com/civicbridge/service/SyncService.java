@@ -0,0 +1,71 @@
+package com.civicbridge.service;
+
+import com.civicbridge.dto.SyncResponse;
+import com.civicbridge.model.HealthcareFacility;
+import com.civicbridge.model.Program;
+import com.civicbridge.repository.jpa.HealthcareFacilityRepository;
+import com.civicbridge.repository.jpa.ProgramRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 2000;
+
+    private final ProgramRepository programRepository;
+    private final HealthcareFacilityRepository healthcareFacilityRepository;
+    private final CatalogVersionService catalogVersionService;
+
+    /**
+     * Returns up to {@code limit} program and facility changes with a version above {@code since}.
+     * Both tables draw from the same version sequence, so the two result lists are merged into one
+     * ordered stream and the page boundary is a single version number.
+     */
+    public SyncResponse getChangesSince(long since, Integer limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        long until = catalogVersionService.readableUpTo();
+        PageRequest firstPage = PageRequest.of(0, pageSize + 1);
+
+        List<Program> changedPrograms = programRepository.findChangedSince(since, until, firstPage);
+        List<HealthcareFacility> changedFacilities = healthcareFacilityRepository.findChangedSince(since, until,
+                firstPage);
+
+        SyncResponse response = new SyncResponse(since, false, new ArrayList<>(), new ArrayList<>(),
+                new ArrayList<>(), new ArrayList<>());
+        int p = 0;
+        int f = 0;
+        while (p + f < pageSize && (p < changedPrograms.size() || f < changedFacilities.size())) {
+            boolean takeProgram = f >= changedFacilities.size() || (p < changedPrograms.size()
+                    && changedPrograms.get(p).getSyncVersion() < changedFacilities.get(f).getSyncVersion());
+            if (takeProgram) {
+                Program program = changedPrograms.get(p++);
+                if (program.isActive()) {
+                    response.getPrograms().add(program);
+                } else {
+                    response.getRemovedProgramIds().add(program.getId());
+                }
+                response.setVersion(program.getSyncVersion());
+            } else {
+                HealthcareFacility facility = changedFacilities.get(f++);
+                if (Boolean.FALSE.equals(facility.getIsActive())) {
+                    response.getRemovedFacilityIds().add(facility.getId());
+                } else {
+                    response.getFacilities().add(facility);
+                }
+                response.setVersion(facility.getSyncVersion());
+            }
+        }
+        response.setHasMore(p < changedPrograms.size() || f < changedFacilities.size());
+        return response;
+    }
+}
@@ -0,0 +1,8 @@
+package com.civicbridge.service;
+
+/**
+ * A user changed elsewhere and must be reloaded. Either field may be null when the sender only knows
+ * the other one.
+ */
+public record UserInvalidationEvent(Long userId, String username) {
+}
@@ -0,0 +1,184 @@
+package com.civicbridge.service;
+
+import com.civicbridge.model.User;
+import com.civicbridge.repository.jpa.UserRepository;
+import com.civicbridge.security.JwtPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, least-recently-used cache of users by id and by username, for services that need the
+ * current user's profile on every request. Entries are read-only copies without the password hash.
+ * Every write to a user on this node invalidates it here; writes on other nodes arrive as a
+ * {@link UserInvalidationEvent}, and entries also expire so a missed event cannot leave one stale
+ * for long.
+ */
+@Service
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Value("${auth.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${auth.user-cache.max-entries:10000}")
+    private int maxEntries;
+
+    // Both maps are guarded by this; lookups are a couple of hash probes, so one lock is enough
+    private final LinkedHashMap<Long, Entry> byId = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            if (size() > maxEntries) {
+                idByUsername.remove(eldest.getValue().user().getUsername());
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<String, Long> idByUsername = new HashMap<>();
+    // Bumped by every invalidation so a load racing with a write does not cache what it read before it
+    private final AtomicLong generation = new AtomicLong();
+
+    private record Entry(User user, long loadedAt) {
+    }
+
+    public UserPrincipalCache(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.hits = meterRegistry.counter("cache.gets", "cache", "users", "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", "users", "result", "miss");
+        this.evictions = meterRegistry.counter("cache.evictions", "cache", "users");
+        meterRegistry.gauge("cache.size", Tags.of("cache", "users"), byId, this::sizeOf);
+    }
+
+    /** The authenticated user, by the id carried in the token when there is one. */
+    public User currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof JwtPrincipal jwtPrincipal && jwtPrincipal.getId() != null) {
+            return findById(jwtPrincipal.getId())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + jwtPrincipal.getUsername()));
+        }
+        String username = ((UserDetails) principal).getUsername();
+        return findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    public Optional<User> findById(Long id) {
+        User cached = get(id);
+        return cached != null ? Optional.of(cached) : load(() -> userRepository.findById(id));
+    }
+
+    public Optional<User> findByUsername(String username) {
+        Long id;
+        synchronized (this) {
+            id = idByUsername.get(username);
+        }
+        User cached = id != null ? get(id) : null;
+        return cached != null ? Optional.of(cached) : load(() -> userRepository.findByUsername(username));
+    }
+
+    /** Drops the user on this node; call after the write that changed them has been saved. */
+    public void invalidate(Long id, String username) {
+        generation.incrementAndGet();
+        synchronized (this) {
+            if (id == null && username != null) {
+                id = idByUsername.get(username);
+            }
+            Entry removed = id != null ? byId.remove(id) : null;
+            if (removed != null) {
+                idByUsername.remove(removed.user().getUsername());
+            }
+            if (username != null) {
+                idByUsername.remove(username);
+            }
+        }
+    }
+
+    public void invalidate(User user) {
+        invalidate(user.getId(), user.getUsername());
+    }
+
+    /**
+     * Cross-node hook: whatever carries user changes between nodes publishes this event locally.
+     * Token revocations, which every role change makes, already arrive this way.
+     */
+    @EventListener
+    public void onUserInvalidation(UserInvalidationEvent event) {
+        invalidate(event.userId(), event.username());
+    }
+
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        byId.clear();
+        idByUsername.clear();
+    }
+
+    private User get(Long id) {
+        Entry entry;
+        synchronized (this) {
+            entry = byId.get(id);
+        }
+        if (entry == null || System.currentTimeMillis() - entry.loadedAt() > ttlSeconds * 1000) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.user();
+    }
+
+    private Optional<User> load(Supplier<Optional<User>> query) {
+        long loadedGeneration = generation.get();
+        Optional<User> loaded = query.get().map(UserPrincipalCache::detachedCopy);
+        loaded.ifPresent(user -> {
+            synchronized (this) {
+                if (generation.get() == loadedGeneration) {
+                    byId.put(user.getId(), new Entry(user, System.currentTimeMillis()));
+                    idByUsername.put(user.getUsername(), user.getId());
+                }
+            }
+        });
+        return loaded;
+    }
+
+    private synchronized double sizeOf(Map<Long, Entry> map) {
+        return map.size();
+    }
+
+    // Shared between requests, so never the entity a persistence context is tracking
+    private static User detachedCopy(User source) {
+        User copy = new User();
+        copy.setId(source.getId());
+        copy.setUsername(source.getUsername());
+        copy.setEmail(source.getEmail());
+        copy.setFullName(source.getFullName());
+        copy.setPreferredLanguage(source.getPreferredLanguage());
+        copy.setRegion(source.getRegion());
+        copy.setLatitude(source.getLatitude());
+        copy.setLongitude(source.getLongitude());
+        copy.setAge(source.getAge());
+        copy.setAnnualIncome(source.getAnnualIncome());
+        copy.setOccupation(source.getOccupation());
+        copy.setRoles(source.getRoles() != null ? Set.copyOf(source.getRoles()) : Set.of());
+        return copy;
+    }
+}
@@ -1,5 +1,6 @@
 package com.civicbridge.service.ai;
 
+import com.civicbridge.dto.NearbyFacility;
 import com.civicbridge.dto.VoiceQueryRequest;
 import com.civicbridge.model.HealthcareFacility;
 import com.civicbridge.model.Program;
@@ -64,11 +65,12 @@ public class MockAIProvider implements AIProvider {
     private String generateHealthcareResponse(VoiceQueryRequest request) {
         if (request.getLatitude() != null && request.getLongitude() != null) {
             try {
-                List<HealthcareFacility> facilities = healthcareService.getNearbyFacilities(
+                List<NearbyFacility> facilities = healthcareService.getNearbyFacilities(
                         request.getLatitude(), request.getLongitude(), 10.0);
                 if (facilities != null && !facilities.isEmpty()) {
+                    HealthcareFacility closest = facilities.get(0).getFacility();
                     return String.format("I found %d healthcare facilities near you. The closest is: %s at %s",
-                            facilities.size(), facilities.get(0).getName(), facilities.get(0).getAddress());
+                            facilities.size(), closest.getName(), closest.getAddress());
                 }
             } catch (Exception e) {
                 return "I'm having trouble accessing the healthcare database right now.";
@@ -0,0 +1,63 @@
+package com.civicbridge.service.alerts;
+
+import com.civicbridge.dto.AlertRecipient;
+import com.civicbridge.model.EmailOutboxMessage;
+import com.civicbridge.model.Program;
+import com.civicbridge.model.ProgramAlert;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * Renders alert emails. The program-specific part of a message is built once per alert by
+ * {@link #forAlert}, leaving only the greeting to fill in per recipient.
+ */
+public final class AlertTemplates {
+
+    private static final DateTimeFormatter DEADLINE_FORMAT = DateTimeFormatter.ofPattern("d MMMM yyyy", Locale.ENGLISH);
+
+    private final String subject;
+    private final String body;
+
+    private AlertTemplates(String subject, String body) {
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public static AlertTemplates forAlert(ProgramAlert.Kind kind, Program program, LocalDate today) {
+        StringBuilder body = new StringBuilder();
+        String subject;
+        if (kind == ProgramAlert.Kind.DEADLINE_REMINDER) {
+            long daysLeft = ChronoUnit.DAYS.between(today, program.getDeadlineDate());
+            String closes = daysLeft <= 0 ? "today" : daysLeft == 1 ? "tomorrow" : "in " + daysLeft + " days";
+            subject = "Applications for " + program.getName() + " close " + closes;
+            body.append("Applications for ").append(program.getName()).append(" close on ")
+                    .append(DEADLINE_FORMAT.format(program.getDeadlineDate()))
+                    .append(". If you are planning to apply, please do so soon.\n");
+        } else {
+            subject = "New program in your area: " + program.getName();
+            body.append("A new program you may be eligible for is now open: ").append(program.getName()).append(".\n");
+        }
+        appendIfPresent(body, "\n", program.getDescription());
+        appendIfPresent(body, "\nBenefits: ", program.getBenefits());
+        appendIfPresent(body, "\nEligibility: ", program.getEligibilityCriteria());
+        appendIfPresent(body, "\nHow to apply: ", program.getApplicationProcess());
+        appendIfPresent(body, "\nContact: ", program.getContactInfo());
+        body.append("\n\nYou are receiving this because your CivicBridge AI profile matches this program.");
+        return new AlertTemplates(subject, body.toString());
+    }
+
+    public EmailOutboxMessage render(AlertRecipient recipient) {
+        String name = recipient.fullName() != null && !recipient.fullName().isBlank()
+                ? recipient.fullName().trim() : recipient.username();
+        return new EmailOutboxMessage(recipient.email(), subject, "Hello " + name + ",\n\n" + body);
+    }
+
+    private static void appendIfPresent(StringBuilder body, String label, String value) {
+        if (value != null && !value.isBlank()) {
+            body.append(label).append(value.trim()).append('\n');
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.civicbridge.service.alerts;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses a program's free-text application deadline into a date. Accepts ISO dates ("2024-12-31"),
+ * day-first numeric dates as written in India ("31/12/2024", "31-12-2024", "31.12.2024") and dates
+ * with a month name in either order ("31st December 2024", "Dec 31, 2024"), optionally behind a
+ * prefix such as "Apply by". Text without a full date ("Rolling", "March 2025") is not a deadline.
+ */
+public final class ApplicationDeadlines {
+
+    private static final String MONTH = "(jan|feb|mar|apr|may|jun|jul|aug|sep|sept|oct|nov|dec)[a-z]*\\.?";
+    private static final String DAY = "(\\d{1,2})(?:st|nd|rd|th)?";
+    private static final Pattern ISO = Pattern.compile("\\b(\\d{4})-(\\d{1,2})-(\\d{1,2})\\b");
+    private static final Pattern DAY_FIRST_NUMERIC = Pattern.compile("\\b(\\d{1,2})[/.-](\\d{1,2})[/.-](\\d{4})\\b");
+    private static final Pattern DAY_MONTH_YEAR = Pattern.compile("\\b" + DAY + "\\s*(?:of\\s+)?" + MONTH
+            + "[\\s,-]*(\\d{4})\\b");
+    private static final Pattern MONTH_DAY_YEAR = Pattern.compile("\\b" + MONTH + "\\s*" + DAY + "[\\s,]+(\\d{4})\\b");
+
+    private ApplicationDeadlines() {
+    }
+
+    /** Returns the deadline, or {@code null} when the text is empty or holds no valid date. */
+    public static LocalDate parse(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+
+        Matcher matcher = ISO.matcher(normalized);
+        if (matcher.find()) {
+            return date(matcher.group(1), matcher.group(2), matcher.group(3));
+        }
+        matcher = DAY_FIRST_NUMERIC.matcher(normalized);
+        if (matcher.find()) {
+            return date(matcher.group(3), matcher.group(2), matcher.group(1));
+        }
+        matcher = DAY_MONTH_YEAR.matcher(normalized);
+        if (matcher.find()) {
+            return date(matcher.group(3), month(matcher.group(2)), matcher.group(1));
+        }
+        matcher = MONTH_DAY_YEAR.matcher(normalized);
+        if (matcher.find()) {
+            return date(matcher.group(3), month(matcher.group(1)), matcher.group(2));
+        }
+        return null;
+    }
+
+    private static String month(String prefix) {
+        for (Month month : Month.values()) {
+            if (month.name().toLowerCase(Locale.ROOT).startsWith(prefix.substring(0, 3))) {
+                return String.valueOf(month.getValue());
+            }
+        }
+        throw new IllegalStateException("Pattern matched an unknown month: " + prefix);
+    }
+
+    // 31/02/2024 and the like are typos, not deadlines
+    private static LocalDate date(String year, String month, String day) {
+        try {
+            return LocalDate.of(Integer.parseInt(year), Integer.parseInt(month), Integer.parseInt(day));
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.civicbridge.service.alerts;
+
+import com.civicbridge.dto.AlertRecipient;
+import com.civicbridge.model.AlertQuota;
+import com.civicbridge.model.EmailOutboxMessage;
+import com.civicbridge.model.Program;
+import com.civicbridge.model.ProgramAlert;
+import com.civicbridge.repository.jpa.AlertQuotaRepository;
+import com.civicbridge.repository.jpa.ProgramAlertRepository;
+import com.civicbridge.repository.jpa.ProgramRepository;
+import com.civicbridge.repository.jpa.UserRepository;
+import com.civicbridge.service.EmailNotificationService;
+import com.civicbridge.service.eligibility.EligibilityIndex;
+import com.civicbridge.service.eligibility.EligibilityParser;
+import com.civicbridge.service.eligibility.EligibilityProfile;
+import com.civicbridge.service.eligibility.EligibilityRule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emails users about programs that are about to close or have just opened. A periodic scan turns
+ * such programs into {@link ProgramAlert}s, then fans each alert out: users in the program's region
+ * are read in keyset-paged chunks, the ones whose profile the program's eligibility rule admits get
+ * a rendered email, and each chunk's emails are queued in the outbox in one batched insert together
+ * with the alert's checkpoint. Only one chunk of users and emails is ever in memory, however many
+ * users an alert reaches. Every node runs the engine; alert rows are created with ON CONFLICT and
+ * locked with SKIP LOCKED while a chunk is sent, so nodes share the work without duplicating it.
+ * A user gets at most {@code alerts.max-per-user-per-day} alert emails a day (an {@link AlertQuota}
+ * row per user and day, locked with the chunk). A chunk that fails is retried on a later scan while
+ * the other alerts go ahead, and its alert is given up after {@code alerts.max-attempts} failures.
+ */
+@Component
+@Slf4j
+public class ProgramAlertEngine {
+
+    private final ProgramAlertRepository programAlertRepository;
+    private final AlertQuotaRepository alertQuotaRepository;
+    private final ProgramRepository programRepository;
+    private final UserRepository userRepository;
+    private final EmailNotificationService emailNotificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer chunkTimer;
+
+    @Value("${alerts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${alerts.deadline-reminder-days:7}")
+    private int deadlineReminderDays;
+
+    @Value("${alerts.new-program-window-hours:24}")
+    private long newProgramWindowHours;
+
+    @Value("${alerts.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${alerts.max-per-user-per-day:3}")
+    private int maxPerUserPerDay;
+
+    @Value("${alerts.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${alerts.retry-delay-minutes:15}")
+    private long retryDelayMinutes;
+
+    public ProgramAlertEngine(ProgramAlertRepository programAlertRepository, AlertQuotaRepository alertQuotaRepository,
+            ProgramRepository programRepository, UserRepository userRepository,
+            EmailNotificationService emailNotificationService, TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.programAlertRepository = programAlertRepository;
+        this.alertQuotaRepository = alertQuotaRepository;
+        this.programRepository = programRepository;
+        this.userRepository = userRepository;
+        this.emailNotificationService = emailNotificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.chunkTimer = meterRegistry.timer("alerts.chunk");
+    }
+
+    @Scheduled(fixedDelayString = "${alerts.scan-interval-ms:900000}", initialDelayString = "${alerts.initial-delay-ms:60000}")
+    public void scan() {
+        if (!enabled) {
+            return;
+        }
+        createAlerts();
+        // Alerts a crashed or busy node left unfinished are picked up here as well
+        while (fanOutChunk()) {
+            // keep going until every alert is complete or locked by another node
+        }
+    }
+
+    public void createAlerts() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        int[] created = transactionTemplate.execute(status -> {
+            alertQuotaRepository.deleteBefore(today);
+            return new int[] {
+                    programAlertRepository.createDeadlineReminders(today, today.plusDays(deadlineReminderDays), now),
+                    programAlertRepository.createNewProgramAlerts(now.minusHours(newProgramWindowHours), now)
+            };
+        });
+        if (created[0] + created[1] > 0) {
+            count("alerts.created", ProgramAlert.Kind.DEADLINE_REMINDER, created[0]);
+            count("alerts.created", ProgramAlert.Kind.NEW_PROGRAM, created[1]);
+            log.info("Created {} deadline reminders and {} new-program alerts", created[0], created[1]);
+        }
+    }
+
+    /** Queues the emails for the next chunk of users of the oldest unfinished alert; returns whether it found one. */
+    public boolean fanOutChunk() {
+        long start = System.nanoTime();
+        ProgramAlert[] claimed = new ProgramAlert[1];
+        Optional<ProgramAlert> processed;
+        try {
+            processed = transactionTemplate.execute(status -> {
+                Optional<ProgramAlert> next = programAlertRepository.findNextIncompleteForUpdate(LocalDateTime.now());
+                next.ifPresent(alert -> {
+                    claimed[0] = alert;
+                    sendChunk(alert);
+                });
+                return next;
+            });
+        } catch (RuntimeException e) {
+            if (claimed[0] == null) {
+                throw e;
+            }
+            // The chunk rolled back; park the alert so the scan carries on with the others
+            recordFailure(claimed[0], e);
+            return true;
+        }
+        if (processed == null || processed.isEmpty()) {
+            return false;
+        }
+        chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return true;
+    }
+
+    private void recordFailure(ProgramAlert alert, RuntimeException cause) {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> programAlertRepository.recordFailure(alert.getId(),
+                maxAttempts, now.plusMinutes(retryDelayMinutes), now));
+        count("alerts.failed", alert.getKind(), 1);
+        // attempts is the count before this failure; the entity was read in the rolled-back transaction
+        if (alert.getAttempts() + 1 >= maxAttempts) {
+            log.error("Giving up {} {} for program {} after {} failed attempts", alert.getKind(), alert.getId(),
+                    alert.getProgramId(), maxAttempts, cause);
+        } else {
+            log.warn("{} {} for program {} failed, retrying in {} minutes: {}", alert.getKind(), alert.getId(),
+                    alert.getProgramId(), retryDelayMinutes, cause.getMessage());
+        }
+    }
+
+    // Runs inside the chunk's transaction; the alert row is locked and managed, so its changes are flushed on commit
+    private void sendChunk(ProgramAlert alert) {
+        LocalDate today = LocalDate.now();
+        Program program = programRepository.findById(alert.getProgramId()).orElse(null);
+        if (program == null || !program.isActive() || (alert.getKind() == ProgramAlert.Kind.DEADLINE_REMINDER
+                && (program.getDeadlineDate() == null || program.getDeadlineDate().isBefore(today)))) {
+            // Deleted, deactivated or past its deadline since the alert was created
+            alert.setCompletedAt(LocalDateTime.now());
+            return;
+        }
+
+        String region = EligibilityIndex.isNationwide(program.getRegion())
+                ? null : EligibilityParser.normalizeRegion(program.getRegion());
+        List<AlertRecipient> users = userRepository.findAlertRecipients(alert.getLastUserId(), region,
+                PageRequest.of(0, chunkSize));
+
+        EligibilityRule rule = EligibilityParser.parse(program.getEligibilityCriteria());
+        List<AlertRecipient> admitted = new ArrayList<>();
+        for (AlertRecipient user : users) {
+            EligibilityProfile profile = new EligibilityProfile(user.region(), user.age(), user.annualIncome(),
+                    EligibilityParser.normalizeOccupation(user.occupation()));
+            if (rule.admits(profile)) {
+                admitted.add(user);
+            }
+        }
+        List<AlertRecipient> recipients = withinDailyCap(admitted, today);
+        count("alerts.capped", alert.getKind(), admitted.size() - recipients.size());
+
+        AlertTemplates template = AlertTemplates.forAlert(alert.getKind(), program, today);
+        List<EmailOutboxMessage> messages = new ArrayList<>(recipients.size());
+        for (AlertRecipient user : recipients) {
+            messages.add(template.render(user));
+        }
+        if (!messages.isEmpty()) {
+            emailNotificationService.sendNotifications(messages);
+        }
+
+        if (!users.isEmpty()) {
+            alert.setLastUserId(users.get(users.size() - 1).id());
+        }
+        alert.setRecipients(alert.getRecipients() + messages.size());
+        count("alerts.recipients", alert.getKind(), messages.size());
+        if (users.size() < chunkSize) {
+            alert.setCompletedAt(LocalDateTime.now());
+            log.info("{} for program {} sent to {} users", alert.getKind(), program.getId(), alert.getRecipients());
+        }
+    }
+
+    // Takes one of today's alert emails from each user's quota; users who have none left are dropped.
+    // The quota rows stay locked until the chunk commits, so concurrent chunks cannot overspend them.
+    private List<AlertRecipient> withinDailyCap(List<AlertRecipient> admitted, LocalDate today) {
+        if (admitted.isEmpty()) {
+            return admitted;
+        }
+        List<Long> userIds = admitted.stream().map(AlertRecipient::id).toList();
+        alertQuotaRepository.createMissing(userIds, today);
+        Map<Long, AlertQuota> quotas = new HashMap<>();
+        for (AlertQuota quota : alertQuotaRepository.findAllForUpdate(userIds, today)) {
+            quotas.put(quota.getUserId(), quota);
+        }
+        List<AlertRecipient> allowed = new ArrayList<>(admitted.size());
+        for (AlertRecipient user : admitted) {
+            AlertQuota quota = quotas.get(user.id());
+            if (quota != null && quota.getSent() < maxPerUserPerDay) {
+                quota.setSent(quota.getSent() + 1);
+                allowed.add(user);
+            }
+        }
+        return allowed;
+    }
+
+    private void count(String name, ProgramAlert.Kind kind, int amount) {
+        meterRegistry.counter(name, "kind", kind.name()).increment(amount);
+    }
+}
@@ -0,0 +1,216 @@
+package com.civicbridge.service.eligibility;
+
+import com.civicbridge.dto.ProgramSummary;
+import com.civicbridge.model.Program;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable bitmap index over a snapshot of active programs. Bit {@code i} in every bitmap
+ * refers to {@code programs[i]}. Each predicate is precomputed into "programs that admit
+ * this value" bitmaps, so matching a profile is a handful of word-wise ANDs over the
+ * catalog instead of evaluating every program's rule.
+ */
+public final class EligibilityIndex {
+
+    private static final int MAX_AGE = 120;
+    private static final int MAX_CACHED_REGIONS = 10_000;
+    private static final Set<String> NATIONWIDE_REGIONS = Set.of("", "all", "all india", "india", "national",
+            "nationwide", "all states");
+
+    private final ProgramSummary[] programs;
+    private final BitSet all;
+
+    private final BitSet anyRegion;
+    private final Map<String, BitSet> byRegion;
+    private final Map<String, BitSet> byCategory;
+    // byAge[a] = programs whose age bounds admit age a, including programs without bounds
+    private final BitSet[] byAge;
+    // incomeAtLeast[i] = programs with no income cap or a cap >= incomeThresholds[i]
+    private final long[] incomeThresholds;
+    private final BitSet[] incomeAtLeast;
+    private final BitSet noIncomeLimit;
+    private final BitSet anyOccupation;
+    private final Map<String, BitSet> byOccupation;
+
+    private final Map<String, BitSet> regionMatches = new ConcurrentHashMap<>();
+
+    private EligibilityIndex(ProgramSummary[] programs, BitSet anyRegion, Map<String, BitSet> byRegion,
+            Map<String, BitSet> byCategory, BitSet[] byAge, long[] incomeThresholds, BitSet[] incomeAtLeast,
+            BitSet noIncomeLimit, BitSet anyOccupation, Map<String, BitSet> byOccupation) {
+        this.programs = programs;
+        this.all = new BitSet(programs.length);
+        this.all.set(0, programs.length);
+        this.anyRegion = anyRegion;
+        this.byRegion = byRegion;
+        this.byCategory = byCategory;
+        this.byAge = byAge;
+        this.incomeThresholds = incomeThresholds;
+        this.incomeAtLeast = incomeAtLeast;
+        this.noIncomeLimit = noIncomeLimit;
+        this.anyOccupation = anyOccupation;
+        this.byOccupation = byOccupation;
+    }
+
+    public static EligibilityIndex build(List<Program> source) {
+        int n = source.size();
+        ProgramSummary[] programs = new ProgramSummary[n];
+        EligibilityRule[] rules = new EligibilityRule[n];
+
+        BitSet anyRegion = new BitSet(n);
+        Map<String, BitSet> byRegion = new HashMap<>();
+        Map<String, BitSet> byCategory = new HashMap<>();
+        BitSet anyOccupation = new BitSet(n);
+        Map<String, BitSet> byOccupation = new HashMap<>();
+        BitSet noIncomeLimit = new BitSet(n);
+        TreeSet<Long> thresholds = new TreeSet<>();
+
+        for (int i = 0; i < n; i++) {
+            Program program = source.get(i);
+            programs[i] = ProgramSummary.from(program);
+            EligibilityRule rule = EligibilityParser.parse(program.getEligibilityCriteria());
+            rules[i] = rule;
+
+            String region = EligibilityParser.normalizeRegion(program.getRegion());
+            if (NATIONWIDE_REGIONS.contains(region)) {
+                anyRegion.set(i);
+            } else {
+                byRegion.computeIfAbsent(region, k -> new BitSet(n)).set(i);
+            }
+            if (program.getCategory() != null) {
+                byCategory.computeIfAbsent(program.getCategory().toUpperCase(Locale.ROOT), k -> new BitSet(n)).set(i);
+            }
+            if (rule.occupations().isEmpty()) {
+                anyOccupation.set(i);
+            } else {
+                for (String occupation : rule.occupations()) {
+                    byOccupation.computeIfAbsent(occupation, k -> new BitSet(n)).set(i);
+                }
+            }
+            if (rule.maxIncome() == null) {
+                noIncomeLimit.set(i);
+            } else {
+                thresholds.add(rule.maxIncome());
+            }
+        }
+
+        BitSet[] byAge = new BitSet[MAX_AGE + 1];
+        for (int age = 0; age <= MAX_AGE; age++) {
+            byAge[age] = new BitSet(n);
+        }
+        for (int i = 0; i < n; i++) {
+            int from = rules[i].minAge() == null ? 0 : Math.max(rules[i].minAge(), 0);
+            int to = rules[i].maxAge() == null ? MAX_AGE : Math.min(rules[i].maxAge(), MAX_AGE);
+            for (int age = from; age <= to; age++) {
+                byAge[age].set(i);
+            }
+        }
+
+        long[] incomeThresholds = thresholds.stream().mapToLong(Long::longValue).toArray();
+        Integer[] capped = IntStream.range(0, n).filter(i -> rules[i].maxIncome() != null).boxed()
+                .sorted(Comparator.comparing((Integer i) -> rules[i].maxIncome()).reversed())
+                .toArray(Integer[]::new);
+        BitSet[] incomeAtLeast = new BitSet[incomeThresholds.length];
+        // Walk thresholds from the highest down so each bitmap extends the one above it
+        BitSet running = (BitSet) noIncomeLimit.clone();
+        int next = 0;
+        for (int t = incomeThresholds.length - 1; t >= 0; t--) {
+            while (next < capped.length && rules[capped[next]].maxIncome() >= incomeThresholds[t]) {
+                running.set(capped[next++]);
+            }
+            incomeAtLeast[t] = (BitSet) running.clone();
+        }
+
+        return new EligibilityIndex(programs, anyRegion, byRegion, byCategory, byAge, incomeThresholds,
+                incomeAtLeast, noIncomeLimit, anyOccupation, byOccupation);
+    }
+
+    /** Whether a program in this region is open to users anywhere. */
+    public static boolean isNationwide(String programRegion) {
+        return NATIONWIDE_REGIONS.contains(EligibilityParser.normalizeRegion(programRegion));
+    }
+
+    public int size() {
+        return programs.length;
+    }
+
+    /**
+     * Returns the programs the profile may be eligible for. Attributes the user has not
+     * provided do not exclude anything.
+     */
+    public List<ProgramSummary> match(EligibilityProfile profile, String category) {
+        BitSet result = (BitSet) regionBits(profile.region()).clone();
+
+        if (category != null && !category.isBlank()) {
+            BitSet categoryBits = byCategory.get(category.trim().toUpperCase(Locale.ROOT));
+            if (categoryBits == null) {
+                return List.of();
+            }
+            result.and(categoryBits);
+        }
+        if (profile.age() != null) {
+            result.and(byAge[Math.min(Math.max(profile.age(), 0), MAX_AGE)]);
+        }
+        if (profile.annualIncome() != null) {
+            result.and(incomeBits(profile.annualIncome()));
+        }
+        if (profile.occupation() != null) {
+            BitSet occupationBits = byOccupation.get(profile.occupation());
+            if (occupationBits == null) {
+                result.and(anyOccupation);
+            } else {
+                BitSet admitted = (BitSet) anyOccupation.clone();
+                admitted.or(occupationBits);
+                result.and(admitted);
+            }
+        }
+
+        List<ProgramSummary> matches = new ArrayList<>(result.cardinality());
+        for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+            matches.add(programs[i]);
+        }
+        return matches;
+    }
+
+    private BitSet regionBits(String userRegion) {
+        String region = EligibilityParser.normalizeRegion(userRegion);
+        if (region.isEmpty()) {
+            return all;
+        }
+        BitSet cached = regionMatches.get(region);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Same containment semantics as the region filter on /programs, resolved once per distinct region
+        BitSet bits = (BitSet) anyRegion.clone();
+        byRegion.forEach((programRegion, members) -> {
+            if (region.contains(programRegion) || programRegion.contains(region)) {
+                bits.or(members);
+            }
+        });
+        if (regionMatches.size() < MAX_CACHED_REGIONS) {
+            regionMatches.put(region, bits);
+        }
+        return bits;
+    }
+
+    private BitSet incomeBits(long income) {
+        int idx = Arrays.binarySearch(incomeThresholds, income);
+        if (idx < 0) {
+            idx = -idx - 1;
+        }
+        return idx < incomeThresholds.length ? incomeAtLeast[idx] : noIncomeLimit;
+    }
+}
@@ -0,0 +1,138 @@
+package com.civicbridge.service.eligibility;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts age, income and occupation predicates from the free-text eligibilityCriteria
+ * written by admins, e.g. "Small farmers aged 18-60 with annual income below Rs 2 lakh".
+ * Anything it does not recognise is left unrestricted, so parsing errs towards showing
+ * a program rather than hiding it.
+ */
+public final class EligibilityParser {
+
+    private static final Pattern AGE_RANGE = Pattern.compile(
+            "(\\d{1,3})\\s*(?:-|\u2013|to)\\s*(\\d{1,3})\\s*(?:years|yrs|year)");
+    private static final Pattern MIN_AGE = Pattern.compile(
+            "(?:above|over|at least)\\s*(\\d{1,3})\\s*(?:\\+|years|yrs)"
+                    + "|(?:aged|minimum age of|minimum age)\\s*(\\d{1,3})"
+                    + "|(\\d{1,3})\\s*\\+?\\s*(?:years|yrs) (?:and|or) (?:above|older|over)");
+    private static final Pattern MAX_AGE = Pattern.compile(
+            "(?:below|under|upto|up to|less than|maximum age of|maximum age)\\s*(\\d{1,3})\\s*(?:years|yrs)");
+    private static final Pattern MAX_INCOME = Pattern.compile(
+            "income[^.;\\d]{0,40}?(?:below|under|less than|up to|upto|not exceeding|<)\\s*"
+                    + "(?:rs\\.?|inr|\u20b9|\\$)?\\s*([\\d,]+(?:\\.\\d+)?)\\s*(lakhs?|lacs?|crores?|k)?");
+
+    private static final int SENIOR_CITIZEN_AGE = 60;
+
+    // Keyword -> canonical occupation. Order matters only for readability.
+    private static final Map<String, String> OCCUPATION_KEYWORDS = new LinkedHashMap<>();
+
+    static {
+        OCCUPATION_KEYWORDS.put("farmer", "FARMER");
+        OCCUPATION_KEYWORDS.put("cultivator", "FARMER");
+        OCCUPATION_KEYWORDS.put("agricultur", "FARMER");
+        OCCUPATION_KEYWORDS.put("student", "STUDENT");
+        OCCUPATION_KEYWORDS.put("fisher", "FISHERMAN");
+        OCCUPATION_KEYWORDS.put("artisan", "ARTISAN");
+        OCCUPATION_KEYWORDS.put("weaver", "ARTISAN");
+        OCCUPATION_KEYWORDS.put("labourer", "LABOURER");
+        OCCUPATION_KEYWORDS.put("laborer", "LABOURER");
+        OCCUPATION_KEYWORDS.put("construction worker", "LABOURER");
+        OCCUPATION_KEYWORDS.put("unemployed", "UNEMPLOYED");
+        OCCUPATION_KEYWORDS.put("job seeker", "UNEMPLOYED");
+        OCCUPATION_KEYWORDS.put("entrepreneur", "ENTREPRENEUR");
+        OCCUPATION_KEYWORDS.put("self-employed", "ENTREPRENEUR");
+        OCCUPATION_KEYWORDS.put("street vendor", "STREET_VENDOR");
+    }
+
+    private EligibilityParser() {
+    }
+
+    public static EligibilityRule parse(String criteria) {
+        if (criteria == null || criteria.isBlank()) {
+            return EligibilityRule.UNRESTRICTED;
+        }
+        String text = criteria.toLowerCase(Locale.ROOT);
+
+        Integer minAge = null;
+        Integer maxAge = null;
+        Matcher range = AGE_RANGE.matcher(text);
+        if (range.find()) {
+            minAge = Integer.parseInt(range.group(1));
+            maxAge = Integer.parseInt(range.group(2));
+        } else {
+            Matcher min = MIN_AGE.matcher(text);
+            if (min.find()) {
+                minAge = Integer.parseInt(firstGroup(min));
+            } else if (text.contains("senior citizen")) {
+                minAge = SENIOR_CITIZEN_AGE;
+            }
+            Matcher max = MAX_AGE.matcher(text);
+            if (max.find()) {
+                maxAge = Integer.parseInt(max.group(1));
+            }
+        }
+
+        Long maxIncome = null;
+        Matcher income = MAX_INCOME.matcher(text);
+        if (income.find()) {
+            maxIncome = parseAmount(income.group(1), income.group(2));
+        }
+
+        Set<String> occupations = new HashSet<>();
+        OCCUPATION_KEYWORDS.forEach((keyword, occupation) -> {
+            if (text.contains(keyword)) {
+                occupations.add(occupation);
+            }
+        });
+
+        return new EligibilityRule(minAge, maxAge, maxIncome, Set.copyOf(occupations));
+    }
+
+    // Maps a user's self-described occupation onto the same vocabulary used for programs
+    public static String normalizeOccupation(String occupation) {
+        if (occupation == null || occupation.isBlank()) {
+            return null;
+        }
+        String text = occupation.toLowerCase(Locale.ROOT);
+        for (Map.Entry<String, String> entry : OCCUPATION_KEYWORDS.entrySet()) {
+            if (text.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return occupation.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public static String normalizeRegion(String region) {
+        return region == null ? "" : region.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String firstGroup(Matcher matcher) {
+        for (int i = 1; i <= matcher.groupCount(); i++) {
+            if (matcher.group(i) != null) {
+                return matcher.group(i);
+            }
+        }
+        throw new IllegalStateException("Pattern matched without a captured group");
+    }
+
+    private static Long parseAmount(String digits, String unit) {
+        double value = Double.parseDouble(digits.replace(",", ""));
+        if (unit != null) {
+            if (unit.startsWith("lakh") || unit.startsWith("lac")) {
+                value *= 100_000;
+            } else if (unit.startsWith("crore")) {
+                value *= 10_000_000;
+            } else if (unit.equals("k")) {
+                value *= 1_000;
+            }
+        }
+        return (long) value;
+    }
+}
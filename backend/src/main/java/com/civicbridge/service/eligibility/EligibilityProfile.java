@@ -0,0 +1,12 @@
+package com.civicbridge.service.eligibility;
+
+import com.civicbridge.model.User;
+
+// The attributes of a user that eligibility rules are evaluated against; any of them may be unknown (null)
+public record EligibilityProfile(String region, Integer age, Long annualIncome, String occupation) {
+
+    public static EligibilityProfile from(User user) {
+        return new EligibilityProfile(user.getRegion(), user.getAge(), user.getAnnualIncome(),
+                EligibilityParser.normalizeOccupation(user.getOccupation()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.civicbridge.service.eligibility;
+
+import java.util.Set;
+
+/**
+ * Structured form of a program's free-text eligibility criteria. A null bound or an
+ * empty occupation set means the program does not restrict on that attribute.
+ */
+public record EligibilityRule(Integer minAge, Integer maxAge, Long maxIncome, Set<String> occupations) {
+
+    public static final EligibilityRule UNRESTRICTED = new EligibilityRule(null, null, null, Set.of());
+
+    /**
+     * Checks one profile against this rule with the same semantics as {@link EligibilityIndex#match}
+     * (region aside): attributes the user has not provided do not exclude them.
+     */
+    public boolean admits(EligibilityProfile profile) {
+        Integer age = profile.age();
+        if (age != null && ((minAge != null && age < minAge) || (maxAge != null && age > maxAge))) {
+            return false;
+        }
+        if (profile.annualIncome() != null && maxIncome != null && profile.annualIncome() > maxIncome) {
+            return false;
+        }
+        return occupations.isEmpty() || profile.occupation() == null || occupations.contains(profile.occupation());
+    }
+}
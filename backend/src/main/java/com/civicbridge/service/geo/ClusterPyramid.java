@@ -0,0 +1,153 @@
+package com.civicbridge.service.geo;
+
+import com.civicbridge.dto.FacilityCluster;
+import com.civicbridge.model.HealthcareFacility;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-aggregated facility counts on a Web Mercator quadtree. Level {@code L} splits the
+ * world into 2^L x 2^L cells, the same grid as map tiles at zoom {@code L}. Each level is
+ * built from its children, so every cell already carries its count, free-service count,
+ * per-type counts and centroid and a cluster query is a handful of map lookups.
+ */
+public final class ClusterPyramid {
+
+    public static final int MAX_LEVEL = 16;
+
+    private static final double MAX_MERCATOR_LATITUDE = 85.05112878;
+
+    private static final class Cell {
+        int count;
+        int free;
+        double latSum;
+        double lonSum;
+        int[] byType;
+        Long onlyFacilityId;
+
+        void add(Cell other) {
+            count += other.count;
+            free += other.free;
+            latSum += other.latSum;
+            lonSum += other.lonSum;
+            for (int t = 0; t < byType.length; t++) {
+                byType[t] += other.byType[t];
+            }
+            onlyFacilityId = count == 1 ? other.onlyFacilityId : null;
+        }
+    }
+
+    private final String[] types;
+    // levels.get(L) maps cellKey(x, y) to the aggregate of that cell
+    private final List<Map<Long, Cell>> levels;
+
+    private ClusterPyramid(String[] types, List<Map<Long, Cell>> levels) {
+        this.types = types;
+        this.levels = levels;
+    }
+
+    public static ClusterPyramid build(Collection<HealthcareFacility> facilities) {
+        Map<String, Integer> typeIndex = new LinkedHashMap<>();
+        for (HealthcareFacility facility : facilities) {
+            typeIndex.putIfAbsent(typeOf(facility), typeIndex.size());
+        }
+        int typeCount = typeIndex.size();
+
+        Map<Long, Cell> leaves = new HashMap<>();
+        for (HealthcareFacility facility : facilities) {
+            if (!FacilityGrid.isIndexable(facility)) {
+                continue;
+            }
+            int x = tileX(facility.getLongitude(), MAX_LEVEL);
+            int y = tileY(facility.getLatitude(), MAX_LEVEL);
+            Cell point = new Cell();
+            point.count = 1;
+            point.free = Boolean.TRUE.equals(facility.getFreeServices()) ? 1 : 0;
+            point.latSum = facility.getLatitude();
+            point.lonSum = facility.getLongitude();
+            point.byType = new int[typeCount];
+            point.byType[typeIndex.get(typeOf(facility))] = 1;
+            point.onlyFacilityId = facility.getId();
+            merge(leaves, cellKey(x, y), point, typeCount);
+        }
+
+        List<Map<Long, Cell>> levels = new ArrayList<>(MAX_LEVEL + 1);
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            levels.add(null);
+        }
+        levels.set(MAX_LEVEL, leaves);
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Map<Long, Cell> parents = new HashMap<>();
+            for (Map.Entry<Long, Cell> child : levels.get(level + 1).entrySet()) {
+                long key = child.getKey();
+                int x = (int) (key >>> 32);
+                int y = (int) key;
+                merge(parents, cellKey(x >> 1, y >> 1), child.getValue(), typeCount);
+            }
+            levels.set(level, parents);
+        }
+        return new ClusterPyramid(typeIndex.keySet().toArray(String[]::new), levels);
+    }
+
+    /** Clusters of the {@code span} x {@code span} cells at {@code level} starting at cell (x0, y0). */
+    public List<FacilityCluster> clusters(int level, int x0, int y0, int span) {
+        Map<Long, Cell> cells = levels.get(level);
+        List<FacilityCluster> result = new ArrayList<>();
+        for (int x = x0; x < x0 + span; x++) {
+            for (int y = y0; y < y0 + span; y++) {
+                Cell cell = cells.get(cellKey(x, y));
+                if (cell != null) {
+                    result.add(toCluster(cell));
+                }
+            }
+        }
+        return result;
+    }
+
+    public static int tileX(double longitude, int level) {
+        int n = 1 << level;
+        int x = (int) Math.floor((longitude + 180) / 360 * n);
+        return Math.max(0, Math.min(n - 1, x));
+    }
+
+    public static int tileY(double latitude, int level) {
+        int n = 1 << level;
+        double lat = Math.toRadians(Math.max(-MAX_MERCATOR_LATITUDE, Math.min(MAX_MERCATOR_LATITUDE, latitude)));
+        double y = (1 - Math.log(Math.tan(lat) + 1 / Math.cos(lat)) / Math.PI) / 2 * n;
+        return Math.max(0, Math.min(n - 1, (int) Math.floor(y)));
+    }
+
+    private FacilityCluster toCluster(Cell cell) {
+        Map<String, Integer> countsByType = new LinkedHashMap<>();
+        for (int t = 0; t < types.length; t++) {
+            if (cell.byType[t] > 0) {
+                countsByType.put(types[t], cell.byType[t]);
+            }
+        }
+        return new FacilityCluster(cell.latSum / cell.count, cell.lonSum / cell.count, cell.count, cell.free,
+                countsByType, cell.onlyFacilityId);
+    }
+
+    private static void merge(Map<Long, Cell> cells, long key, Cell addition, int typeCount) {
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = new Cell();
+            cell.byType = new int[typeCount];
+            cells.put(key, cell);
+        }
+        cell.add(addition);
+    }
+
+    private static long cellKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static String typeOf(HealthcareFacility facility) {
+        return facility.getType() == null ? "OTHER" : facility.getType();
+    }
+}
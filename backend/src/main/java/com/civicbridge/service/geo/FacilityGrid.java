@@ -0,0 +1,355 @@
+package com.civicbridge.service.geo;
+
+import com.civicbridge.model.HealthcareFacility;
+import com.civicbridge.service.tags.ServiceTags;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lat/lon grid over a snapshot of facilities. Points are sorted by grid cell and
+ * stored in parallel primitive arrays, so every cell is a contiguous slice and a row of cells
+ * is one binary search away. Radius queries visit only the cells overlapping the search
+ * circle's bounding box; k-nearest queries widen a radius search until it holds k points.
+ * Service tags, type and the free-services flag are kept as bitmaps over the point order, so
+ * attribute filters are intersected up front and rejected points never reach the distance test.
+ */
+public final class FacilityGrid {
+
+    // Same sphere radius as Postgres earth(), so distances match the old earth_distance query
+    public static final double EARTH_RADIUS_KM = 6378.168;
+
+    private static final double CELL_DEGREES = 0.05; // ~5.5 km north-south
+    private static final int ROWS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int COLS = (int) Math.ceil(360 / CELL_DEGREES);
+    private static final double INITIAL_KNN_RADIUS_KM = 5;
+    private static final double MAX_RADIUS_KM = Math.PI * EARTH_RADIUS_KM;
+
+    public record Neighbor(HealthcareFacility facility, double distanceKm) {
+    }
+
+    private final HealthcareFacility[] facilities;
+    private final double[] latRad;
+    private final double[] lonRad;
+    private final double[] cosLat;
+    // Distinct cell keys in ascending order; points of cellKeys[c] are cellStart[c]..cellStart[c + 1]
+    private final long[] cellKeys;
+    private final int[] cellStart;
+    private final Map<String, BitSet> byTag = new HashMap<>();
+    private final Map<String, BitSet> byType = new HashMap<>();
+    private final BitSet free;
+
+    private FacilityGrid(HealthcareFacility[] facilities, long[] cellKeys, int[] cellStart, double[] latRad,
+            double[] lonRad, double[] cosLat, BitSet free) {
+        this.facilities = facilities;
+        this.cellKeys = cellKeys;
+        this.cellStart = cellStart;
+        this.latRad = latRad;
+        this.lonRad = lonRad;
+        this.cosLat = cosLat;
+        this.free = free;
+    }
+
+    /** Indexes the active facilities that have coordinates; the rest are skipped. */
+    public static FacilityGrid build(Collection<HealthcareFacility> source) {
+        HealthcareFacility[] points = source.stream()
+                .filter(FacilityGrid::isIndexable)
+                .sorted(Comparator.comparingLong(FacilityGrid::cellKey))
+                .toArray(HealthcareFacility[]::new);
+
+        double[] latRad = new double[points.length];
+        double[] lonRad = new double[points.length];
+        double[] cosLat = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            latRad[i] = Math.toRadians(points[i].getLatitude());
+            lonRad[i] = Math.toRadians(points[i].getLongitude());
+            cosLat[i] = Math.cos(latRad[i]);
+        }
+        FacilityGrid grid = cells(points, latRad, lonRad, cosLat, new BitSet(points.length));
+        for (int i = 0; i < points.length; i++) {
+            grid.indexAttributes(i, points[i]);
+        }
+        return grid;
+    }
+
+    /**
+     * A copy of this grid with {@code facility} in place of the facility with the same id, or removed
+     * when it is no longer indexable. Nothing is re-sorted or re-decoded: the point arrays are copied
+     * around the one point leaving its old cell and the one entering its new cell, and the attribute
+     * bitmaps are shifted past the same two positions. This grid is left untouched for readers still
+     * holding it.
+     */
+    public FacilityGrid with(HealthcareFacility facility) {
+        int removed = indexOf(facility.getId());
+        boolean inserted = isIndexable(facility);
+        if (removed < 0 && !inserted) {
+            return this;
+        }
+        // Old position the new point goes in front of: the end of its cell, so the cell stays contiguous
+        int insertAt = inserted ? endOfCell(cellKey(facility)) : -1;
+        int size = facilities.length - (removed >= 0 ? 1 : 0) + (inserted ? 1 : 0);
+        HealthcareFacility[] points = new HealthcareFacility[size];
+        double[] lat = new double[size];
+        double[] lon = new double[size];
+        double[] cos = new double[size];
+        for (int i = 0; i < facilities.length; i++) {
+            if (i != removed) {
+                int j = shifted(i, removed, insertAt);
+                points[j] = facilities[i];
+                lat[j] = latRad[i];
+                lon[j] = lonRad[i];
+                cos[j] = cosLat[i];
+            }
+        }
+        int newIndex = -1;
+        if (inserted) {
+            newIndex = insertAt - (removed >= 0 && removed < insertAt ? 1 : 0);
+            points[newIndex] = facility;
+            lat[newIndex] = Math.toRadians(facility.getLatitude());
+            lon[newIndex] = Math.toRadians(facility.getLongitude());
+            cos[newIndex] = Math.cos(lat[newIndex]);
+        }
+
+        FacilityGrid grid = cells(points, lat, lon, cos, shift(free, removed, insertAt));
+        byTag.forEach((tag, bits) -> putIfAny(grid.byTag, tag, shift(bits, removed, insertAt)));
+        byType.forEach((type, bits) -> putIfAny(grid.byType, type, shift(bits, removed, insertAt)));
+        if (inserted) {
+            grid.indexAttributes(newIndex, facility);
+        }
+        return grid;
+    }
+
+    public static boolean isIndexable(HealthcareFacility facility) {
+        return !Boolean.FALSE.equals(facility.getIsActive())
+                && facility.getLatitude() != null && facility.getLongitude() != null
+                && Math.abs(facility.getLatitude()) <= 90 && Math.abs(facility.getLongitude()) <= 180;
+    }
+
+    // Groups the points, already in cell order, into cells and wraps everything in a grid
+    private static FacilityGrid cells(HealthcareFacility[] points, double[] latRad, double[] lonRad,
+            double[] cosLat, BitSet free) {
+        long[] keys = new long[points.length];
+        int[] starts = new int[points.length + 1];
+        int cells = 0;
+        for (int i = 0; i < points.length; i++) {
+            long key = cellKey(points[i]);
+            if (cells == 0 || keys[cells - 1] != key) {
+                keys[cells] = key;
+                starts[cells] = i;
+                cells++;
+            }
+        }
+        starts[cells] = points.length;
+        return new FacilityGrid(points, Arrays.copyOf(keys, cells), Arrays.copyOf(starts, cells + 1),
+                latRad, lonRad, cosLat, free);
+    }
+
+    private void indexAttributes(int i, HealthcareFacility facility) {
+        for (String tag : ServiceTags.decode(facility.getServiceTags())) {
+            byTag.computeIfAbsent(tag, t -> new BitSet(facilities.length)).set(i);
+        }
+        if (facility.getType() != null) {
+            byType.computeIfAbsent(facility.getType(), t -> new BitSet(facilities.length)).set(i);
+        }
+        if (Boolean.TRUE.equals(facility.getFreeServices())) {
+            free.set(i);
+        }
+    }
+
+    private int endOfCell(long key) {
+        int c = Arrays.binarySearch(cellKeys, key);
+        return c >= 0 ? cellStart[c + 1] : cellStart[-c - 1];
+    }
+
+    private int indexOf(Long id) {
+        if (id != null) {
+            for (int i = 0; i < facilities.length; i++) {
+                if (id.equals(facilities[i].getId())) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // New position of old point i once the point at removed (-1 for none) is dropped and a point is
+    // inserted in front of old position insertAt (-1 for none)
+    private static int shifted(int i, int removed, int insertAt) {
+        return i - (removed >= 0 && i > removed ? 1 : 0) + (insertAt >= 0 && i >= insertAt ? 1 : 0);
+    }
+
+    private static BitSet shift(BitSet bits, int removed, int insertAt) {
+        BitSet result = new BitSet(bits.length() + 1);
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            if (i != removed) {
+                result.set(shifted(i, removed, insertAt));
+            }
+        }
+        return result;
+    }
+
+    private static void putIfAny(Map<String, BitSet> index, String key, BitSet bits) {
+        if (!bits.isEmpty()) {
+            index.put(key, bits);
+        }
+    }
+
+    public int size() {
+        return facilities.length;
+    }
+
+    /** Facilities in this snapshot, in no particular order. */
+    public List<HealthcareFacility> facilities() {
+        return Arrays.asList(facilities);
+    }
+
+    /**
+     * Points carrying all of {@code tags}, of {@code type} (when set) and with free services (when
+     * {@code freeOnly}); {@code null} when nothing is filtered.
+     */
+    public BitSet select(Collection<String> tags, String type, boolean freeOnly) {
+        BitSet mask = null;
+        for (String tag : tags) {
+            mask = and(mask, byTag.get(tag));
+        }
+        if (type != null) {
+            mask = and(mask, byType.get(type));
+        }
+        if (freeOnly) {
+            mask = and(mask, free);
+        }
+        return mask;
+    }
+
+    /** Facilities within {@code radiusKm} of the point, nearest first. */
+    public List<Neighbor> withinRadius(double latitude, double longitude, double radiusKm) {
+        return withinRadius(latitude, longitude, radiusKm, null);
+    }
+
+    /** Facilities within {@code radiusKm} of the point among those set in {@code mask} (null for all). */
+    public List<Neighbor> withinRadius(double latitude, double longitude, double radiusKm, BitSet mask) {
+        List<Neighbor> result = new ArrayList<>();
+        if (facilities.length == 0 || radiusKm < 0 || (mask != null && mask.isEmpty())) {
+            return result;
+        }
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cos = Math.cos(lat);
+        double angle = Math.min(radiusKm, MAX_RADIUS_KM) / EARTH_RADIUS_KM;
+        // Compare haversine terms instead of distances so rejected points never reach asin/sqrt
+        double maxHav = Math.pow(Math.sin(angle / 2), 2);
+
+        double angleDeg = Math.toDegrees(angle);
+        int rowMin = row(latitude - angleDeg);
+        int rowMax = row(latitude + angleDeg);
+        int colMin = 0;
+        int colMax = COLS - 1;
+        if (Math.abs(latitude) + angleDeg < 90) {
+            // Widest longitude span of a spherical cap, reached at its tangent points
+            double lonSpan = Math.toDegrees(Math.asin(Math.min(1, Math.sin(angle) / cos)));
+            if (lonSpan < 180) {
+                colMin = col(longitude - lonSpan);
+                colMax = col(longitude + lonSpan);
+            }
+        }
+
+        for (int r = rowMin; r <= rowMax; r++) {
+            if (colMin <= colMax) {
+                scanRow(r, colMin, colMax, lat, lon, cos, maxHav, mask, result);
+            } else {
+                // Box crosses the antimeridian
+                scanRow(r, colMin, COLS - 1, lat, lon, cos, maxHav, mask, result);
+                scanRow(r, 0, colMax, lat, lon, cos, maxHav, mask, result);
+            }
+        }
+        result.sort(Comparator.comparingDouble(Neighbor::distanceKm));
+        return result;
+    }
+
+    /** The {@code k} facilities nearest to the point, nearest first. */
+    public List<Neighbor> nearest(double latitude, double longitude, int k) {
+        return nearest(latitude, longitude, k, null);
+    }
+
+    public List<Neighbor> nearest(double latitude, double longitude, int k, BitSet mask) {
+        int candidates = mask != null ? mask.cardinality() : facilities.length;
+        if (k <= 0 || candidates == 0) {
+            return List.of();
+        }
+        int wanted = Math.min(k, candidates);
+        double radius = INITIAL_KNN_RADIUS_KM;
+        while (true) {
+            // Everything within the radius is returned, so once it holds k points they are the exact k nearest
+            List<Neighbor> found = withinRadius(latitude, longitude, radius, mask);
+            if (found.size() >= wanted || radius >= MAX_RADIUS_KM) {
+                return found.size() > wanted ? found.subList(0, wanted) : found;
+            }
+            radius *= 4;
+        }
+    }
+
+    /** Great-circle distance on the same sphere the grid uses. */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double sinLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double sinLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        double hav = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(Math.min(1, hav)));
+    }
+
+    private void scanRow(int row, int colFrom, int colTo, double lat, double lon, double cos, double maxHav,
+            BitSet mask, List<Neighbor> out) {
+        long firstKey = (long) row * COLS + colFrom;
+        long lastKey = (long) row * COLS + colTo;
+        int c = Arrays.binarySearch(cellKeys, firstKey);
+        if (c < 0) {
+            c = -c - 1;
+        }
+        for (; c < cellKeys.length && cellKeys[c] <= lastKey; c++) {
+            for (int i = cellStart[c]; i < cellStart[c + 1]; i++) {
+                if (mask != null && !mask.get(i)) {
+                    continue;
+                }
+                double sinLat = Math.sin((latRad[i] - lat) / 2);
+                double sinLon = Math.sin((lonRad[i] - lon) / 2);
+                double hav = sinLat * sinLat + cos * cosLat[i] * sinLon * sinLon;
+                if (hav <= maxHav) {
+                    double distance = 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(hav));
+                    out.add(new Neighbor(facilities[i], distance));
+                }
+            }
+        }
+    }
+
+    private static BitSet and(BitSet mask, BitSet filter) {
+        BitSet result = mask == null ? new BitSet() : mask;
+        if (filter == null) {
+            result.clear();
+        } else if (mask == null) {
+            result.or(filter);
+        } else {
+            result.and(filter);
+        }
+        return result;
+    }
+
+    private static long cellKey(HealthcareFacility facility) {
+        return (long) row(facility.getLatitude()) * COLS + col(facility.getLongitude());
+    }
+
+    private static int row(double latitude) {
+        int row = (int) Math.floor((latitude + 90) / CELL_DEGREES);
+        return Math.max(0, Math.min(ROWS - 1, row));
+    }
+
+    private static int col(double longitude) {
+        double normalized = ((longitude + 180) % 360 + 360) % 360;
+        return Math.min(COLS - 1, (int) Math.floor(normalized / CELL_DEGREES));
+    }
+}
@@ -0,0 +1,259 @@
+package com.civicbridge.service.hours;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses free-text operating hours ("Mon-Fri 9AM-5PM, Sat 10am-2pm", "24/7", "Daily 8:00-20:00,
+ * Sun closed") into a weekly schedule of 5-minute slots, one bit per slot starting Monday 00:00.
+ * The schedule is stored as 252 bytes with slot {@code s} at byte {@code s / 8}, bit {@code s % 8}
+ * (least significant first), which is the bit order of both {@link BitSet#toByteArray()} and
+ * Postgres {@code get_bit(bytea, n)}, so "open at" checks are one bit test in Java and in SQL.
+ */
+public final class OperatingHours {
+
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+    public static final int SCHEDULE_BYTES = SLOTS_PER_WEEK / 8;
+
+    private static final String DAY = "(mon|tue|wed|thu|fri|sat|sun)[a-z]*\\.?";
+    private static final Pattern DAY_RANGE = Pattern.compile(DAY + "(?:\\s*(?:-|\u2013|to)\\s*" + DAY + ")?");
+    private static final Pattern TIME_RANGE = Pattern.compile(
+            "(\\d{1,2})(?:[:.](\\d{2}))?\\s*(am|pm|a\\.m\\.|p\\.m\\.)?\\s*(?:-|\u2013|to)\\s*"
+                    + "(\\d{1,2})(?:[:.](\\d{2}))?\\s*(am|pm|a\\.m\\.|p\\.m\\.)?");
+    private static final Pattern ALWAYS_OPEN = Pattern.compile(
+            "^(?:open\\s+)?(?:24\\s*/\\s*7|24\\s*x\\s*7|24\\s*(?:hours|hrs|h)(?:\\s+a\\s+day)?|always\\s+open)$");
+    private static final Pattern ALL_DAY = Pattern.compile("24\\s*(?:hours|hrs|h)|open\\s+all\\s+day");
+    private static final Pattern CLOSED = Pattern.compile("\\bclosed\\b|\\bholiday\\b");
+    private static final Pattern SEGMENT_SEPARATOR = Pattern.compile("[,;\\n|]");
+    private static final boolean[] INVALID = new boolean[0];
+
+    private OperatingHours() {
+    }
+
+    /**
+     * Returns the packed weekly schedule, or {@code null} when the text is empty or any part of it
+     * cannot be understood; a half-understood schedule would report facilities closed when they are not.
+     */
+    public static byte[] parse(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+        BitSet open = new BitSet(SLOTS_PER_WEEK);
+        if (ALWAYS_OPEN.matcher(normalized).matches()) {
+            open.set(0, SLOTS_PER_WEEK);
+            return pack(open);
+        }
+
+        boolean[] days = null;      // days of the segment being parsed
+        boolean[] pending = null;   // bare day lists waiting for their hours ("Mon, Wed 9-5")
+        boolean parsedAny = false;
+        for (String raw : SEGMENT_SEPARATOR.split(normalized)) {
+            String segment = raw.trim();
+            if (segment.isEmpty()) {
+                continue;
+            }
+            Matcher time = TIME_RANGE.matcher(segment);
+            boolean hasTime = time.find();
+            String dayText = hasTime ? segment.substring(0, time.start()) + " " + segment.substring(time.end())
+                    : segment;
+            boolean closed = !hasTime && CLOSED.matcher(segment).find();
+            boolean allDay = !hasTime && ALL_DAY.matcher(segment).find();
+            dayText = CLOSED.matcher(ALL_DAY.matcher(dayText).replaceAll(" ")).replaceAll(" ");
+
+            boolean[] segmentDays = parseDays(dayText);
+            if (segmentDays == INVALID) {
+                return null;
+            }
+            if (!hasTime && !closed && !allDay) {
+                if (segmentDays == null) {
+                    return null;
+                }
+                pending = union(pending, segmentDays);
+                continue;
+            }
+            // Without its own days a segment continues the previous one ("Mon-Fri 9-1, 2-6"); the very first
+            // segment without days applies to the whole week
+            days = union(pending, segmentDays != null ? segmentDays : (pending != null ? null : days));
+            pending = null;
+            if (days == null) {
+                days = everyDay();
+            }
+
+            for (int d = 0; d < 7; d++) {
+                if (!days[d]) {
+                    continue;
+                }
+                int dayStart = d * SLOTS_PER_DAY;
+                if (closed) {
+                    open.clear(dayStart, dayStart + SLOTS_PER_DAY);
+                } else if (allDay) {
+                    open.set(dayStart, dayStart + SLOTS_PER_DAY);
+                } else {
+                    int[] range = parseTimeRange(time);
+                    if (range == null) {
+                        return null;
+                    }
+                    setWrapping(open, dayStart + range[0], dayStart + range[1]);
+                }
+            }
+            parsedAny = true;
+        }
+        return parsedAny && pending == null ? pack(open) : null;
+    }
+
+    /** Slot of a local date-time within the week. */
+    public static int slotOf(LocalDateTime time) {
+        int day = time.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue();
+        return day * SLOTS_PER_DAY + (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    /** Whether a packed schedule is open in the slot; unknown schedules are never open. */
+    public static boolean isOpen(byte[] schedule, int slot) {
+        return schedule != null && schedule.length == SCHEDULE_BYTES && (schedule[slot >> 3] & (1 << (slot & 7))) != 0;
+    }
+
+    // null when the text names no days, INVALID when it holds something other than days
+    private static boolean[] parseDays(String text) {
+        String remaining = text.replaceAll("\\b(and|&|on|open|from)\\b", " ").trim();
+        if (remaining.isEmpty()) {
+            return null;
+        }
+        boolean[] days = new boolean[7];
+        if (remaining.matches(".*\\b(daily|everyday|every day|all days|all week)\\b.*")) {
+            days = everyDay();
+            remaining = remaining.replaceAll("\\b(daily|everyday|every day|all days|all week)\\b", " ");
+        }
+        if (remaining.matches(".*\\bweekdays\\b.*")) {
+            Arrays.fill(days, 0, 5, true);
+            remaining = remaining.replaceAll("\\bweekdays\\b", " ");
+        }
+        if (remaining.matches(".*\\bweekends?\\b.*")) {
+            days[5] = true;
+            days[6] = true;
+            remaining = remaining.replaceAll("\\bweekends?\\b", " ");
+        }
+        Matcher range = DAY_RANGE.matcher(remaining);
+        StringBuilder leftover = new StringBuilder();
+        int last = 0;
+        while (range.find()) {
+            leftover.append(remaining, last, range.start());
+            last = range.end();
+            int from = dayIndex(range.group(1));
+            int to = range.group(2) != null ? dayIndex(range.group(2)) : from;
+            for (int d = from; ; d = (d + 1) % 7) {
+                days[d] = true;
+                if (d == to) {
+                    break;
+                }
+            }
+        }
+        leftover.append(remaining.substring(last));
+        if (!leftover.toString().replaceAll("[\\s:.\\-\u2013/]", "").isEmpty()) {
+            return INVALID;
+        }
+        return days;
+    }
+
+    private static int[] parseTimeRange(Matcher time) {
+        int startHour = Integer.parseInt(time.group(1));
+        int startMinute = time.group(2) != null ? Integer.parseInt(time.group(2)) : 0;
+        int endHour = Integer.parseInt(time.group(4));
+        int endMinute = time.group(5) != null ? Integer.parseInt(time.group(5)) : 0;
+        String startMeridiem = meridiem(time.group(3));
+        String endMeridiem = meridiem(time.group(6));
+
+        if (startMeridiem == null && endMeridiem != null) {
+            // "9-5pm" means 9am; "1-5pm" means 1pm
+            startMeridiem = to24(startHour, endMeridiem) * 60 + startMinute <= to24(endHour, endMeridiem) * 60 + endMinute
+                    ? endMeridiem : "am";
+        } else if (endMeridiem == null && startMeridiem != null && endHour >= 1 && endHour <= 12) {
+            // "9am-5" means 5pm; "8pm-11" means 11pm
+            endMeridiem = to24(endHour, startMeridiem) * 60 + endMinute > to24(startHour, startMeridiem) * 60 + startMinute
+                    ? startMeridiem : "pm";
+        } else if (startMeridiem == null && endMeridiem == null && startHour >= 1 && startHour <= 12
+                && endHour >= 1 && endHour <= 12 && !time.group(4).startsWith("0")
+                && endHour * 60 + endMinute <= startHour * 60 + startMinute) {
+            // "9-5" is a working day, not an overnight shift; a padded "22:00-02:00" style end keeps its 24-hour reading
+            startMeridiem = "am";
+            endMeridiem = "pm";
+        }
+        if (startMinute > 59 || endMinute > 59) {
+            return null;
+        }
+        int start = startMeridiem != null ? to24(startHour, startMeridiem) * 60 + startMinute
+                : startHour * 60 + startMinute;
+        int end = endMeridiem != null ? to24(endHour, endMeridiem) * 60 + endMinute : endHour * 60 + endMinute;
+        if ((startMeridiem != null && (startHour < 1 || startHour > 12))
+                || (endMeridiem != null && (endHour < 1 || endHour > 12))
+                || start >= 24 * 60 || end > 24 * 60) {
+            return null;
+        }
+        // Closing times round up to the slot they fall in so "until 5:02" still covers 5:00-5:05
+        return new int[] { start / SLOT_MINUTES, (end + SLOT_MINUTES - 1) / SLOT_MINUTES };
+    }
+
+    // Ranges ending at or before their start run past midnight into the next day (Sunday into Monday)
+    private static void setWrapping(BitSet open, int from, int to) {
+        if (to <= from) {
+            to += SLOTS_PER_DAY;
+        }
+        if (to <= SLOTS_PER_WEEK) {
+            open.set(from, to);
+        } else {
+            open.set(from, SLOTS_PER_WEEK);
+            open.set(0, to - SLOTS_PER_WEEK);
+        }
+    }
+
+    private static int to24(int hour, String meridiem) {
+        return hour % 12 + ("pm".equals(meridiem) ? 12 : 0);
+    }
+
+    private static String meridiem(String text) {
+        return text == null ? null : text.replace(".", "");
+    }
+
+    private static int dayIndex(String abbreviation) {
+        return switch (abbreviation) {
+            case "mon" -> 0;
+            case "tue" -> 1;
+            case "wed" -> 2;
+            case "thu" -> 3;
+            case "fri" -> 4;
+            case "sat" -> 5;
+            default -> 6;
+        };
+    }
+
+    private static boolean[] everyDay() {
+        boolean[] days = new boolean[7];
+        Arrays.fill(days, true);
+        return days;
+    }
+
+    private static boolean[] union(boolean[] a, boolean[] b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        boolean[] result = new boolean[7];
+        for (int d = 0; d < 7; d++) {
+            result[d] = a[d] || b[d];
+        }
+        return result;
+    }
+
+    private static byte[] pack(BitSet open) {
+        return Arrays.copyOf(open.toByteArray(), SCHEDULE_BYTES);
+    }
+}
@@ -0,0 +1,237 @@
+package com.civicbridge.service.mail;
+
+import com.civicbridge.model.EmailOutboxMessage;
+import com.civicbridge.repository.jpa.EmailOutboxRepository;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends the email outbox. Each poll claims a batch of due messages, holds back those whose domain is
+ * over its rate limit, and hands the rest to the mail sender in one call, which delivers them all
+ * over a single SMTP connection. Failed messages are retried with exponential backoff until they run
+ * out of attempts. Claims are row locks taken with SKIP LOCKED plus a lease, so every node can run a
+ * dispatcher without two of them sending the same message.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_TRACKED_DOMAINS = 10_000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter deferred;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final Map<String, Bucket> domainBuckets = new ConcurrentHashMap<>();
+
+    @Value("${spring.mail.username:}")
+    private String fromEmail;
+
+    @Value("${email.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${email.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${email.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${email.outbox.per-domain-per-minute:60}")
+    private int perDomainPerMinute;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository, JavaMailSender mailSender,
+            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.sent = meterRegistry.counter("email.outbox.sent");
+        this.retried = meterRegistry.counter("email.outbox.retried");
+        this.failed = meterRegistry.counter("email.outbox.failed");
+        this.deferred = meterRegistry.counter("email.outbox.deferred");
+        this.batchTimer = meterRegistry.timer("email.outbox.batch");
+        meterRegistry.gauge("email.outbox.pending", pending);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        // Keep going while batches come back full and clean, so a backlog drains without waiting for the
+        // next poll but an unreachable server is not hammered once per batch, nor a throttled domain's rows
+        // claimed and released over and over
+        boolean more = true;
+        while (more) {
+            more = dispatchBatch();
+        }
+        pending.set(emailOutboxRepository.countByStatus(EmailOutboxMessage.Status.PENDING));
+    }
+
+    /** Claims and sends one batch; returns whether another batch may be waiting and can be sent now. */
+    public boolean dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> claimed = transactionTemplate.execute(status -> {
+            List<EmailOutboxMessage> due = emailOutboxRepository.findDueForUpdate(now, batchSize);
+            due.forEach(message -> message.setLockedUntil(now.plusSeconds(leaseSeconds)));
+            return due;
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return false;
+        }
+
+        List<EmailOutboxMessage> sendable = new ArrayList<>();
+        Map<LocalDateTime, List<Long>> held = new LinkedHashMap<>();
+        Map<String, List<EmailOutboxMessage>> byDomain = new LinkedHashMap<>();
+        for (EmailOutboxMessage message : claimed) {
+            byDomain.computeIfAbsent(message.getRecipientDomain(), d -> new ArrayList<>()).add(message);
+        }
+        byDomain.forEach((domain, messages) -> {
+            Bucket bucket = bucketFor(domain);
+            int allowed = (int) bucket.tryConsumeAsMuchAsPossible(messages.size());
+            sendable.addAll(messages.subList(0, allowed));
+            if (allowed < messages.size()) {
+                long waitNanos = bucket.estimateAbilityToConsume(messages.size() - allowed).getNanosToWaitForRefill();
+                LocalDateTime retryAt = now.plusNanos(Math.max(waitNanos, TimeUnit.SECONDS.toNanos(1)));
+                messages.subList(allowed, messages.size())
+                        .forEach(m -> held.computeIfAbsent(retryAt, t -> new ArrayList<>()).add(m.getId()));
+                deferred.increment(messages.size() - allowed);
+            }
+        });
+
+        Map<EmailOutboxMessage, Exception> failures = sendable.isEmpty() ? Map.of() : send(sendable);
+
+        List<Long> sentIds = new ArrayList<>();
+        for (EmailOutboxMessage message : sendable) {
+            if (!failures.containsKey(message)) {
+                sentIds.add(message.getId());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                emailOutboxRepository.markSent(sentIds, LocalDateTime.now());
+            }
+            held.forEach((retryAt, ids) -> emailOutboxRepository.release(ids, retryAt));
+            failures.forEach(this::recordFailure);
+        });
+        sent.increment(sentIds.size());
+        return claimed.size() == batchSize && failures.isEmpty() && held.isEmpty();
+    }
+
+    // One send call per batch: the mail sender opens a single connection for all of its messages
+    private Map<EmailOutboxMessage, Exception> send(List<EmailOutboxMessage> messages) {
+        // Sent in claim order; failures are mapped back by identity since equal mails can be distinct rows
+        SimpleMailMessage[] mails = new SimpleMailMessage[messages.size()];
+        Map<SimpleMailMessage, EmailOutboxMessage> byMail = new IdentityHashMap<>();
+        for (int i = 0; i < mails.length; i++) {
+            EmailOutboxMessage message = messages.get(i);
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setFrom(fromEmail);
+            mail.setTo(message.getRecipient());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            mails[i] = mail;
+            byMail.put(mail, message);
+        }
+
+        Map<EmailOutboxMessage, Exception> failures = new IdentityHashMap<>();
+        long start = System.nanoTime();
+        try {
+            mailSender.send(mails);
+        } catch (MailSendException e) {
+            // Messages the server refused are listed; an empty list means the connection itself failed
+            e.getFailedMessages().forEach((mail, cause) -> {
+                EmailOutboxMessage message = byMail.get(mail);
+                if (message != null) {
+                    failures.put(message, cause);
+                }
+            });
+            if (failures.isEmpty()) {
+                messages.forEach(message -> failures.put(message, e));
+            }
+        } catch (MailException e) {
+            messages.forEach(message -> failures.put(message, e));
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        batchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        int delivered = messages.size() - failures.size();
+        log.info("Sent {} of {} emails in {} ms ({} msg/s)", delivered, messages.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                String.format("%.1f", delivered / Math.max(elapsedNanos / 1e9, 1e-3)));
+        return failures;
+    }
+
+    private void recordFailure(EmailOutboxMessage message, Exception cause) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLockedUntil(null);
+        String error = String.valueOf(cause.getMessage());
+        message.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxMessage.Status.FAILED);
+            failed.increment();
+            log.error("Giving up on email {} to {} after {} attempts: {}", message.getId(), message.getRecipient(),
+                    attempts, error);
+        } else {
+            message.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds(attempts)));
+            retried.increment();
+            log.warn("Email {} to {} failed (attempt {}), retrying at {}: {}", message.getId(),
+                    message.getRecipient(), attempts, message.getNextAttemptAt(), error);
+        }
+        emailOutboxRepository.save(message);
+    }
+
+    long backoffSeconds(int attempts) {
+        long backoff = initialBackoffSeconds << Math.min(attempts - 1, 20);
+        return Math.min(backoff, maxBackoffSeconds);
+    }
+
+    private Bucket bucketFor(String domain) {
+        if (domainBuckets.size() > MAX_TRACKED_DOMAINS) {
+            domainBuckets.clear();
+        }
+        return domainBuckets.computeIfAbsent(domain, d -> Bucket.builder()
+                .addLimit(Bandwidth.classic(perDomainPerMinute,
+                        Refill.greedy(perDomainPerMinute, Duration.ofMinutes(1))))
+                .build());
+    }
+
+    @Scheduled(cron = "${email.outbox.purge-cron:0 23 4 * * *}")
+    public void purgeSent() {
+        int deleted = transactionTemplate.execute(status ->
+                emailOutboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(7)));
+        log.debug("Purged {} sent emails from the outbox", deleted);
+    }
+}
@@ -0,0 +1,37 @@
+package com.civicbridge.service.metrics;
+
+/**
+ * Lock-free count of events over the last {@code slots * slotMillis} milliseconds, kept as a ring of
+ * per-slot counters. Counting is one compare-and-set; reading sums the slots still in the window, so
+ * the window advances in steps of one slot.
+ */
+public final class SlidingWindowCounter {
+
+    private final int slots;
+    private final long slotMillis;
+    private final WindowedCells cells;
+
+    public SlidingWindowCounter(int slots, long slotMillis) {
+        this.slots = slots;
+        this.slotMillis = slotMillis;
+        this.cells = new WindowedCells(slots);
+    }
+
+    public void increment(long nowMillis) {
+        add(nowMillis, 1);
+    }
+
+    public void add(long nowMillis, long amount) {
+        long slot = nowMillis / slotMillis;
+        cells.add((int) Math.floorMod(slot, (long) slots), slot, amount);
+    }
+
+    public long sum(long nowMillis) {
+        long current = nowMillis / slotMillis;
+        long total = 0;
+        for (long slot = current - slots + 1; slot <= current; slot++) {
+            total += cells.get((int) Math.floorMod(slot, (long) slots), slot);
+        }
+        return total;
+    }
+}
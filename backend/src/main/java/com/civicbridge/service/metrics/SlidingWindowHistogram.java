@@ -0,0 +1,82 @@
+package com.civicbridge.service.metrics;
+
+/**
+ * Lock-free latency histogram over a sliding window, for percentiles of recent requests. Each slot of
+ * the ring holds a row of log-scale bins, four per doubling from 1 ms to about 55 s (slower requests
+ * share the last bin), so a reported percentile is the upper edge of its bin: at most 19% above the
+ * true value, never below it.
+ */
+public final class SlidingWindowHistogram {
+
+    private static final int BINS_PER_DOUBLING = 4;
+    private static final int BINS = 64;
+
+    private final int slots;
+    private final long slotMillis;
+    private final WindowedCells cells;
+
+    public SlidingWindowHistogram(int slots, long slotMillis) {
+        this.slots = slots;
+        this.slotMillis = slotMillis;
+        this.cells = new WindowedCells(slots * BINS);
+    }
+
+    public void record(long nowMillis, double latencyMillis) {
+        long slot = nowMillis / slotMillis;
+        cells.add((int) Math.floorMod(slot, (long) slots) * BINS + binOf(latencyMillis), slot, 1);
+    }
+
+    public long count(long nowMillis) {
+        long total = 0;
+        for (long binCount : merged(nowMillis)) {
+            total += binCount;
+        }
+        return total;
+    }
+
+    /** The {@code quantile} (0 to 1) of latencies in the window, in milliseconds; null when it is empty. */
+    public Double percentile(long nowMillis, double quantile) {
+        long[] bins = merged(nowMillis);
+        long total = 0;
+        for (long binCount : bins) {
+            total += binCount;
+        }
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            seen += bins[bin];
+            if (seen >= rank) {
+                return upperEdge(bin);
+            }
+        }
+        return upperEdge(BINS - 1);
+    }
+
+    private long[] merged(long nowMillis) {
+        long current = nowMillis / slotMillis;
+        long[] bins = new long[BINS];
+        for (long slot = current - slots + 1; slot <= current; slot++) {
+            int base = (int) Math.floorMod(slot, (long) slots) * BINS;
+            for (int bin = 0; bin < BINS; bin++) {
+                bins[bin] += cells.get(base + bin, slot);
+            }
+        }
+        return bins;
+    }
+
+    // Bin b holds latencies in (2^((b-1)/4), 2^(b/4)] ms; bin 0 everything up to 1 ms
+    static int binOf(double latencyMillis) {
+        if (latencyMillis <= 1) {
+            return 0;
+        }
+        int bin = (int) Math.ceil(BINS_PER_DOUBLING * Math.log(latencyMillis) / Math.log(2));
+        return Math.min(bin, BINS - 1);
+    }
+
+    static double upperEdge(int bin) {
+        return Math.pow(2, (double) bin / BINS_PER_DOUBLING);
+    }
+}
@@ -0,0 +1,39 @@
+package com.civicbridge.service.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters that belong to a time slot, for ring buffers that reuse a cell once its slot has slid out
+ * of the window. Each cell packs the slot number (high 32 bits) with its count (low 32 bits) into one
+ * long, so moving a cell to a new slot and counting into it are the same compare-and-set: there is no
+ * separate reset step that could race with, and lose, a concurrent increment.
+ */
+final class WindowedCells {
+
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final AtomicLongArray cells;
+
+    WindowedCells(int size) {
+        this.cells = new AtomicLongArray(size);
+    }
+
+    void add(int cell, long slot, long amount) {
+        long tag = slot & COUNT_MASK;
+        while (true) {
+            long current = cells.get(cell);
+            long next = (current >>> 32) == tag
+                    ? (tag << 32) | Math.min((current & COUNT_MASK) + amount, COUNT_MASK)
+                    : (tag << 32) | Math.min(amount, COUNT_MASK);
+            if (cells.compareAndSet(cell, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /** The cell's count if it was last written in {@code slot}, otherwise 0. */
+    long get(int cell, long slot) {
+        long current = cells.get(cell);
+        return (current >>> 32) == (slot & COUNT_MASK) ? current & COUNT_MASK : 0;
+    }
+}
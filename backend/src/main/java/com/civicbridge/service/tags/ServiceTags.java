@@ -0,0 +1,130 @@
+package com.civicbridge.service.tags;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Turns the free-text {@code services} of a facility ("General checkup, Vaccination, Emergency care")
+ * into normalized tags. Known phrases and their synonyms map to one vocabulary tag ("vaccine",
+ * "immunisation" -> {@code vaccination}); any other listed service becomes a slug of its own.
+ * Tags are stored sorted, each wrapped in its own commas (",emergency,,general,,vaccination,"), so
+ * "has all of these tags" is a single LIKE over the column with the wanted tags in the same order.
+ * Wrapping each tag separately keeps neighbouring tags from sharing a comma the pattern needs.
+ */
+public final class ServiceTags {
+
+    private static final Map<String, List<String>> VOCABULARY = new LinkedHashMap<>();
+
+    static {
+        VOCABULARY.put("vaccination", List.of("vaccination", "vaccine", "immunization", "immunisation", "polio",
+                "covid vaccine"));
+        VOCABULARY.put("emergency", List.of("emergency", "casualty", "trauma", "accident"));
+        VOCABULARY.put("maternity", List.of("maternity", "prenatal", "antenatal", "postnatal", "delivery",
+                "obstetric", "gynaecology", "gynecology", "mother and child"));
+        VOCABULARY.put("pediatrics", List.of("pediatric", "paediatric", "child care", "children", "neonatal"));
+        VOCABULARY.put("general", List.of("general checkup", "general check-up", "checkup", "check-up", "opd",
+                "outpatient", "consultation", "general medicine", "primary care"));
+        VOCABULARY.put("dental", List.of("dental", "dentist", "dentistry"));
+        VOCABULARY.put("eye-care", List.of("eye", "ophthalmology", "optometry", "vision"));
+        VOCABULARY.put("diagnostics", List.of("diagnostic", "laboratory", "lab test", "blood test", "pathology",
+                "x-ray", "xray", "ultrasound", "scan"));
+        VOCABULARY.put("pharmacy", List.of("pharmacy", "medicine", "dispensary", "chemist"));
+        VOCABULARY.put("mental-health", List.of("mental health", "psychiatry", "psychiatric", "counselling",
+                "counseling"));
+        VOCABULARY.put("surgery", List.of("surgery", "surgical", "operation theatre"));
+        VOCABULARY.put("icu", List.of("icu", "intensive care", "critical care"));
+        VOCABULARY.put("ambulance", List.of("ambulance"));
+        VOCABULARY.put("tuberculosis", List.of("tuberculosis", "tb", "dots"));
+        VOCABULARY.put("family-planning", List.of("family planning", "contraception"));
+    }
+
+    private static final Pattern ITEM_SEPARATOR = Pattern.compile("[,;/\\n|]");
+    private static final Pattern NON_SLUG = Pattern.compile("[^a-z0-9]+");
+    private static final int MAX_SLUG_LENGTH = 40;
+
+    private ServiceTags() {
+    }
+
+    /** Tags for a facility's services text; empty when there is none. */
+    public static SortedSet<String> tokenize(String services) {
+        SortedSet<String> tags = new TreeSet<>();
+        if (services == null || services.isBlank()) {
+            return tags;
+        }
+        for (String item : ITEM_SEPARATOR.split(services.toLowerCase(Locale.ROOT))) {
+            String phrase = item.trim();
+            if (!phrase.isEmpty()) {
+                tags.addAll(tagsOf(phrase));
+            }
+        }
+        return tags;
+    }
+
+    /** Normalizes tags typed by a client ("Vaccine, dental") the same way facility services are. */
+    public static SortedSet<String> normalize(Collection<String> requested) {
+        SortedSet<String> tags = new TreeSet<>();
+        for (String tag : requested) {
+            tags.addAll(tokenize(tag));
+        }
+        return tags;
+    }
+
+    public static String encode(SortedSet<String> tags) {
+        if (tags.isEmpty()) {
+            return null;
+        }
+        StringBuilder encoded = new StringBuilder();
+        for (String tag : tags) {
+            encoded.append(',').append(tag).append(',');
+        }
+        return encoded.toString();
+    }
+
+    public static List<String> decode(String encoded) {
+        if (encoded == null) {
+            return List.of();
+        }
+        return Arrays.stream(encoded.split(",")).filter(tag -> !tag.isEmpty()).toList();
+    }
+
+    /** LIKE pattern matching encoded tags that contain all of {@code tags}, or null for no filter. */
+    public static String containsAllPattern(SortedSet<String> tags) {
+        if (tags.isEmpty()) {
+            return null;
+        }
+        StringBuilder pattern = new StringBuilder("%");
+        for (String tag : tags) {
+            pattern.append(',').append(tag).append(",%");
+        }
+        return pattern.toString();
+    }
+
+    private static SortedSet<String> tagsOf(String phrase) {
+        SortedSet<String> tags = new TreeSet<>();
+        // Padding lets short synonyms such as "tb" and "eye" match only as whole words
+        String padded = " " + NON_SLUG.matcher(phrase).replaceAll(" ").trim() + " ";
+        for (Map.Entry<String, List<String>> entry : VOCABULARY.entrySet()) {
+            for (String synonym : entry.getValue()) {
+                String needle = " " + NON_SLUG.matcher(synonym).replaceAll(" ").trim();
+                if (padded.contains(needle + " ") || padded.contains(needle + "s ")) {
+                    tags.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        if (tags.isEmpty()) {
+            String slug = NON_SLUG.matcher(phrase).replaceAll("-").replaceAll("^-|-$", "");
+            if (!slug.isEmpty()) {
+                tags.add(slug.length() > MAX_SLUG_LENGTH ? slug.substring(0, MAX_SLUG_LENGTH) : slug);
+            }
+        }
+        return tags;
+    }
+}
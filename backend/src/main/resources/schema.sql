@@ -0,0 +1,51 @@
+-- Runs after Hibernate has created/updated the tables (see spring.jpa.defer-datasource-initialization).
+-- Every statement must be idempotent because it is executed on each startup.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS postgis;
+
+-- Program, HealthcareFacility and EmailOutboxMessage moved from identity columns to pooled sequences; make sure the
+-- sequences Hibernate created start past any ids issued by the old identity columns.
+SELECT setval('program_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM programs), (SELECT last_value FROM program_seq)));
+SELECT setval('healthcare_facility_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM healthcare_facilities), (SELECT last_value FROM healthcare_facility_seq)));
+SELECT setval('email_outbox_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM email_outbox), (SELECT last_value FROM email_outbox_seq)));
+
+-- Delta sync: one version sequence shared by programs and facilities (see CatalogVersionService).
+-- Rows written before versioning existed are stamped once so a client syncing from 0 receives them.
+CREATE SEQUENCE IF NOT EXISTS catalog_version_seq;
+UPDATE programs SET sync_version = nextval('catalog_version_seq') WHERE sync_version IS NULL;
+UPDATE healthcare_facilities SET sync_version = nextval('catalog_version_seq') WHERE sync_version IS NULL;
+CREATE INDEX IF NOT EXISTS idx_programs_sync_version ON programs (sync_version);
+CREATE INDEX IF NOT EXISTS idx_healthcare_facilities_sync_version ON healthcare_facilities (sync_version);
+
+-- Program full-text search
+ALTER TABLE programs ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(category, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'C') ||
+        setweight(to_tsvector('simple', coalesce(benefits, '')), 'D')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_programs_search_vector ON programs USING GIN (search_vector);
+
+-- Trigram index serves both the fuzzy region match in search and the LIKE '%region%' filter
+CREATE INDEX IF NOT EXISTS idx_programs_region_trgm ON programs USING GIN (lower(region) gin_trgm_ops);
+
+-- Facility location as a geography point, generated from latitude/longitude so it can never drift from them
+ALTER TABLE healthcare_facilities ADD COLUMN IF NOT EXISTS location geography(Point, 4326)
+    GENERATED ALWAYS AS (
+        CASE WHEN latitude IS NOT NULL AND longitude IS NOT NULL
+            THEN CAST(ST_SetSRID(ST_MakePoint(longitude, latitude), 4326) AS geography)
+        END
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_healthcare_facilities_location ON healthcare_facilities USING GIST (location);
+
+-- Email outbox: the dispatcher only ever reads pending messages, in next_attempt_at order
+CREATE INDEX IF NOT EXISTS idx_email_outbox_pending ON email_outbox (next_attempt_at) WHERE status = 'PENDING';
+
+-- Program alerts: the scan looks for active programs closing soon or created recently
+CREATE INDEX IF NOT EXISTS idx_programs_deadline_date ON programs (deadline_date) WHERE is_active = true;
+CREATE INDEX IF NOT EXISTS idx_programs_created_at ON programs (created_at) WHERE is_active = true;
+CREATE INDEX IF NOT EXISTS idx_program_alerts_incomplete ON program_alerts (id) WHERE completed_at IS NULL;
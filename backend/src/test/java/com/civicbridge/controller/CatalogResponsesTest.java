@@ -0,0 +1,52 @@
+package com.civicbridge.controller;
+
+import com.civicbridge.service.CatalogPayloadCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogResponsesTest {
+
+    private final CatalogPayloadCache.Payload payload = new CatalogPayloadCache.Payload(3,
+            CatalogPayloadCache.Format.JSON, "\"abc\"", new byte[100], new byte[20]);
+
+    @Test
+    void testOf_GzipVariantHasItsOwnEtag() {
+        ResponseEntity<byte[]> identity = CatalogResponses.of(payload, null, null);
+        ResponseEntity<byte[]> gzip = CatalogResponses.of(payload, null, "gzip, deflate");
+
+        assertEquals("\"abc\"", identity.getHeaders().getETag());
+        assertNull(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"abc-gz\"", gzip.getHeaders().getETag());
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(20, gzip.getBody().length);
+    }
+
+    @Test
+    void testOf_EitherEtagRevalidates() {
+        ResponseEntity<byte[]> fromGzip = CatalogResponses.of(payload, "\"abc-gz\"", null);
+        ResponseEntity<byte[]> fromIdentity = CatalogResponses.of(payload, "W/\"abc\"", "gzip");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, fromGzip.getStatusCode());
+        // The 304 carries the tag of the representation the request would have got
+        assertEquals("\"abc\"", fromGzip.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, fromIdentity.getStatusCode());
+        assertEquals("\"abc-gz\"", fromIdentity.getHeaders().getETag());
+        assertEquals(HttpStatus.OK, CatalogResponses.of(payload, "\"abd-gz\"", "gzip").getStatusCode());
+    }
+
+    @Test
+    void testAcceptsGzip_HonoursQualityValues() {
+        assertTrue(CatalogResponses.acceptsGzip("gzip"));
+        assertTrue(CatalogResponses.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(CatalogResponses.acceptsGzip("br, *"));
+        assertFalse(CatalogResponses.acceptsGzip("gzip;q=0"));
+        assertFalse(CatalogResponses.acceptsGzip("gzip; q=0.0, *"));
+        assertFalse(CatalogResponses.acceptsGzip("*;q=0"));
+        assertFalse(CatalogResponses.acceptsGzip("identity"));
+        assertFalse(CatalogResponses.acceptsGzip(null));
+    }
+}
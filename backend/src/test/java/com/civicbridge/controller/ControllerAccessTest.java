@@ -1,9 +1,13 @@
 package com.civicbridge.controller;
 
 import com.civicbridge.security.JwtTokenProvider;
+import com.civicbridge.security.TokenRevocationService;
 import com.civicbridge.service.ApplicationService;
 import com.civicbridge.service.AuthService;
+import com.civicbridge.service.CatalogPayloadCache;
+import com.civicbridge.service.EligibilityService;
 import com.civicbridge.service.ProgramService;
+import com.civicbridge.service.UserPrincipalCache;
 import com.civicbridge.repository.jpa.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,9 +51,21 @@ public class ControllerAccessTest {
     @MockBean
     private UserDetailsService userDetailsService;
 
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private CatalogPayloadCache catalogPayloadCache;
+
+    @MockBean
+    private EligibilityService eligibilityService;
+
+    @MockBean
+    private UserPrincipalCache userPrincipalCache;
+
     @TestConfiguration
     @EnableWebSecurity
     @EnableMethodSecurity
@@ -0,0 +1,36 @@
+package com.civicbridge.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void testMightContain_NeverMissesAddedKeys() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.001);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("jti:" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("jti:" + i));
+        }
+    }
+
+    @Test
+    void testMightContain_FalsePositivesNearConfiguredRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user:member" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("user:other" + i)) {
+                falsePositives++;
+            }
+        }
+        // 1% of 100,000 probes is 1,000; allow for variance
+        assertTrue(falsePositives < 2_000, "too many false positives: " + falsePositives);
+        assertFalse(BloomFilter.create(100, 0.01).mightContain("jti:anything"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.civicbridge.security;
+
+import com.civicbridge.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch hashing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    // Stands in for bcrypt: the first hash holds its worker until released
+    private final PasswordEncoder slowEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashing.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    private double queueDepth() {
+        return meterRegistry.get("auth.password.hash.queue.depth").gauge().value();
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (queueDepth() != depth) {
+            assertTrue(System.currentTimeMillis() < deadline, "queue never reached " + depth);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testMatches_DelegatesWhenIdle() {
+        encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, 1000, meterRegistry);
+
+        assertTrue(encoder.matches("secret", "hashed:secret"));
+        assertFalse(encoder.matches("guess", "hashed:secret"));
+    }
+
+    @Test
+    void testEncode_RejectsWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, 10_000, meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("second", "x"));
+        awaitQueueDepth(1);
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class, () -> encoder.encode("third"));
+
+        assertTrue(e.getRetryAfterSeconds() > 0);
+        release.countDown();
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        assertFalse(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.counter("auth.password.hash.rejected").count());
+    }
+
+    @Test
+    void testEncode_DropsWorkThatWaitedPastItsDeadline() throws Exception {
+        encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, 50, meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("second", "x"));
+        awaitQueueDepth(1);
+
+        Thread.sleep(100);
+        release.countDown();
+
+        // The hash that was already running finishes; the one that waited too long is never started
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TooManyRequestsException.class, e.getCause());
+        assertEquals(1, meterRegistry.counter("auth.password.hash.rejected").count());
+    }
+}
@@ -0,0 +1,65 @@
+package com.civicbridge.security;
+
+import com.civicbridge.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        throttle = new LoginThrottle(meterRegistry);
+        ReflectionTestUtils.setField(throttle, "perIpPerMinute", 3);
+        ReflectionTestUtils.setField(throttle, "failuresPerUsernamePerMinute", 2);
+    }
+
+    @Test
+    void testCheckLogin_LimitsEachAddressSeparately() {
+        for (int i = 0; i < 3; i++) {
+            throttle.checkLogin("10.0.0.1", "user" + i);
+        }
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkLogin("10.0.0.1", "someone-else"));
+        assertTrue(e.getRetryAfterSeconds() >= 1 && e.getRetryAfterSeconds() <= 60);
+        assertDoesNotThrow(() -> throttle.checkLogin("10.0.0.2", "someone-else"));
+        // Registration draws on the same budget
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkRegistration("10.0.0.1"));
+        assertEquals(2, meterRegistry.counter("auth.login.throttled", "scope", "ip").count());
+    }
+
+    @Test
+    void testCheckLogin_LocksUsernameAfterRepeatedFailures() {
+        throttle.checkLogin("10.0.0.1", "asha");
+        throttle.recordFailure("asha");
+        throttle.checkLogin("10.0.0.1", "asha");
+        throttle.recordFailure("Asha ");
+
+        // Locked from every address, whatever the case, while other users are unaffected
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkLogin("10.0.0.2", "ASHA"));
+        assertDoesNotThrow(() -> throttle.checkLogin("10.0.0.2", "ravi"));
+        assertEquals(1, meterRegistry.counter("auth.login.throttled", "scope", "username").count());
+    }
+
+    @Test
+    void testCheckLogin_SuccessfulAttemptsNeverLockTheUsername() {
+        ReflectionTestUtils.setField(throttle, "perIpPerMinute", 100);
+        for (int i = 0; i < 10; i++) {
+            throttle.checkLogin("10.0.0." + i, "asha");
+            throttle.recordSuccess("asha");
+        }
+
+        throttle.recordFailure("asha");
+        throttle.recordSuccess("asha");
+        throttle.recordFailure("asha");
+        assertDoesNotThrow(() -> throttle.checkLogin("10.0.0.1", "asha"));
+    }
+}
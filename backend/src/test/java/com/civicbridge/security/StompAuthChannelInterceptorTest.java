@@ -0,0 +1,102 @@
+package com.civicbridge.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StompAuthChannelInterceptorTest {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private TokenRevocationService tokenRevocationService;
+    private StompAuthChannelInterceptor interceptor;
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = mock(JwtTokenProvider.class);
+        tokenRevocationService = mock(TokenRevocationService.class);
+        interceptor = new StompAuthChannelInterceptor(jwtTokenProvider, mock(UserDetailsService.class),
+                tokenRevocationService);
+    }
+
+    private static Authentication user(String role) {
+        JwtPrincipal principal = new JwtPrincipal(1L, "asha", null, List.of(new SimpleGrantedAuthority(role)));
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String destination, Authentication user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setUser(user);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    @Test
+    void testConnect_ValidTokenAuthenticatesTheSession() {
+        Claims claims = mock(Claims.class);
+        when(jwtTokenProvider.parseClaims("good")).thenReturn(claims);
+        when(jwtTokenProvider.toPrincipal(claims)).thenReturn(
+                new JwtPrincipal(1L, "asha", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.addNativeHeader("Authorization", "Bearer good");
+        accessor.setLeaveMutable(true);
+        Message<byte[]> connect = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        interceptor.preSend(connect, channel);
+
+        assertEquals("asha", StompHeaderAccessor.wrap(connect).getUser().getName());
+    }
+
+    @Test
+    void testConnect_RevokedTokenLeavesTheSessionAnonymous() {
+        Claims claims = mock(Claims.class);
+        when(jwtTokenProvider.parseClaims("revoked")).thenReturn(claims);
+        when(tokenRevocationService.isRevoked(claims)).thenReturn(true);
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.addNativeHeader("Authorization", "Bearer revoked");
+        accessor.setLeaveMutable(true);
+        Message<byte[]> connect = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        interceptor.preSend(connect, channel);
+
+        assertNull(StompHeaderAccessor.wrap(connect).getUser());
+        verify(jwtTokenProvider, never()).toPrincipal(any());
+    }
+
+    @Test
+    void testSubscribe_AdminTopicNeedsAnAdmin() {
+        assertNotNull(interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/stats", null), channel));
+        assertNotNull(interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/admin/stats", user("ROLE_ADMIN")),
+                channel));
+        assertThrows(AccessDeniedException.class, () ->
+                interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/admin/stats", null), channel));
+        assertThrows(AccessDeniedException.class, () ->
+                interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/admin/stats", user("ROLE_USER")), channel));
+    }
+
+    @Test
+    void testSubscribe_RefusesPatternsAndClientSendsToTopics() {
+        assertThrows(AccessDeniedException.class, () ->
+                interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/**", null), channel));
+        assertThrows(AccessDeniedException.class, () ->
+                interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/{any}/stats", user("ROLE_USER")), channel));
+        assertThrows(AccessDeniedException.class, () ->
+                interceptor.preSend(frame(StompCommand.SEND, "/topic/admin/stats", user("ROLE_ADMIN")), channel));
+    }
+}
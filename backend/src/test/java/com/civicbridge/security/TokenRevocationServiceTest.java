@@ -0,0 +1,115 @@
+package com.civicbridge.security;
+
+import com.civicbridge.model.RevokedToken;
+import com.civicbridge.repository.jpa.RevokedTokenRepository;
+import com.civicbridge.service.UserInvalidationEvent;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new TokenRevocationService(revokedTokenRepository, eventPublisher);
+        ReflectionTestUtils.setField(service, "accessTokenTtlMillis", 3600_000L);
+        ReflectionTestUtils.setField(service, "expectedEntries", 1000);
+        when(revokedTokenRepository.findActiveKeys(any())).thenReturn(List.of());
+        when(revokedTokenRepository.findKeysCreatedAfter(any())).thenReturn(List.of());
+        service.init();
+    }
+
+    private static Claims claims(String id, String username, long issuedSecondsAgo) {
+        long now = System.currentTimeMillis();
+        return Jwts.claims()
+                .setId(id)
+                .setSubject(username)
+                .setIssuedAt(new Date(now - issuedSecondsAgo * 1000))
+                .setExpiration(new Date(now + 3600_000));
+    }
+
+    @Test
+    void testIsRevoked_NeverRevokedTokenSkipsDatabase() {
+        assertFalse(service.isRevoked(claims("a", "asha", 0)));
+
+        verify(revokedTokenRepository, never()).existsById(anyString());
+        verify(revokedTokenRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void testIsRevoked_FilterHitIsConfirmedInDatabase() {
+        service.revoke(claims("a", "asha", 0));
+        when(revokedTokenRepository.existsById("jti:a")).thenReturn(true);
+
+        assertTrue(service.isRevoked(claims("a", "asha", 0)));
+
+        // Rebuilt from a key whose row is gone by the time it is checked: a filter hit alone is not enough
+        when(revokedTokenRepository.findActiveKeys(any())).thenReturn(List.of("jti:b"));
+        service.purgeExpired();
+        assertFalse(service.isRevoked(claims("b", "ravi", 0)));
+        verify(revokedTokenRepository).existsById("jti:b");
+    }
+
+    @Test
+    void testIsRevoked_RevokeAllCoversTokensIssuedBefore() {
+        service.revokeAll("asha");
+        LocalDateTime now = LocalDateTime.now();
+        when(revokedTokenRepository.findById("user:asha")).thenReturn(Optional.of(
+                new RevokedToken("user:asha", now.truncatedTo(ChronoUnit.SECONDS), now.plusHours(1), now)));
+
+        assertTrue(service.isRevoked(claims("a", "asha", 60)));
+        assertFalse(service.isRevoked(claims("b", "asha", -60)));
+        assertFalse(service.isRevoked(claims("c", "ravi", 60)));
+    }
+
+    @Test
+    void testIsRevoked_RevokeAllCoversTokenIssuedEarlierInTheSameSecond() {
+        // The iat claim has whole seconds; the token was issued before the revocation but within its second
+        long second = System.currentTimeMillis() / 1000 * 1000;
+        Claims claims = Jwts.claims()
+                .setId("a")
+                .setSubject("asha")
+                .setIssuedAt(new Date(second))
+                .setExpiration(new Date(second + 3600_000));
+        service.revokeAll("asha");
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(saved.capture());
+        when(revokedTokenRepository.findById("user:asha")).thenReturn(Optional.of(saved.getValue()));
+
+        assertTrue(service.isRevoked(claims));
+    }
+
+    @Test
+    void testPollRevocations_PicksUpOtherNodesRevocations() {
+        Claims claims = claims("a", "asha", 0);
+        assertFalse(service.isRevoked(claims));
+
+        // Revoked on another node: only the row exists, this node's filter has not seen it
+        when(revokedTokenRepository.findKeysCreatedAfter(any())).thenReturn(List.of("jti:a", "user:ravi"));
+        when(revokedTokenRepository.existsById("jti:a")).thenReturn(true);
+        service.pollRevocations();
+
+        assertTrue(service.isRevoked(claims));
+        verify(eventPublisher).publishEvent(new UserInvalidationEvent(null, "ravi"));
+    }
+}
@@ -3,20 +3,28 @@ package com.civicbridge.service;
 import com.civicbridge.dto.VoiceQueryRequest;
 import com.civicbridge.model.QueryHistory;
 import com.civicbridge.repository.mongo.QueryHistoryRepository;
+import com.civicbridge.security.JwtPrincipal;
 import com.civicbridge.service.ai.AIProvider;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +42,9 @@ class AIServiceTest {
     @Mock
     private AIProvider mockProvider;
 
+    @Mock
+    private LiveMetrics liveMetrics;
+
     @InjectMocks
     private AIService aiService;
 
@@ -48,6 +59,16 @@ class AIServiceTest {
 
         ReflectionTestUtils.setField(aiService, "aiProviders", aiProviders);
         ReflectionTestUtils.setField(aiService, "activeProviderName", "Gemini"); // Default primary
+
+        // Signed in through an access token carrying the user's region
+        JwtPrincipal principal = new JwtPrincipal(1L, "asha", "Punjab", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -90,5 +111,34 @@ class AIServiceTest {
 
         // Verify history saved
         verify(queryHistoryRepository).save(any(QueryHistory.class));
+
+        // Both failures count against their providers, and the query is timed once
+        verify(liveMetrics).recordProviderCall("Gemini", true);
+        verify(liveMetrics).recordProviderCall("OpenAI", true);
+        verify(liveMetrics).recordProviderCall("MockProvider", false);
+        verify(liveMetrics).recordQuery(eq("Punjab"), anyLong());
+    }
+
+    @Test
+    void testProcessQuery_AllProvidersFailingIsNotCountedAsAQuery() {
+        when(geminiProvider.getProviderName()).thenReturn("Gemini");
+        when(geminiProvider.isEnabled()).thenReturn(true);
+        when(geminiProvider.processQuery(any())).thenThrow(new RuntimeException("Gemini Failed"));
+        when(openAIProvider.getProviderName()).thenReturn("OpenAI");
+        when(openAIProvider.isEnabled()).thenReturn(false);
+        when(mockProvider.getProviderName()).thenReturn("MockProvider");
+        when(mockProvider.isEnabled()).thenReturn(true);
+        when(mockProvider.processQuery(any())).thenThrow(new RuntimeException("Mock Failed"));
+
+        VoiceQueryRequest request = new VoiceQueryRequest();
+        request.setQueryText("Test Query");
+
+        String result = aiService.processQuery(request);
+
+        assertTrue(result.startsWith("I'm sorry"));
+        verify(liveMetrics).recordProviderCall("Gemini", true);
+        verify(liveMetrics).recordProviderCall("MockProvider", true);
+        verify(liveMetrics, never()).recordQuery(any(), anyLong());
+        verifyNoInteractions(queryHistoryRepository);
     }
 }
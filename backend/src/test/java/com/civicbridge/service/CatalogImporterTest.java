@@ -0,0 +1,182 @@
+package com.civicbridge.service;
+
+import com.civicbridge.dto.ImportResult;
+import com.civicbridge.exception.ApiException;
+import com.civicbridge.model.HealthcareFacility;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogImporterTest {
+
+    private CatalogImporter importer;
+    // Names of the records in each batch handed to the writer
+    private final List<List<String>> batches = new ArrayList<>();
+    private final Consumer<List<HealthcareFacility>> writer =
+            batch -> batches.add(batch.stream().map(HealthcareFacility::getName).toList());
+
+    @BeforeEach
+    void setUp() {
+        importer = new CatalogImporter(new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    private ImportResult importBody(String contentType, String body, Consumer<List<HealthcareFacility>> batchWriter) {
+        return importer.importRecords(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), contentType,
+                HealthcareFacility.class, facility -> { }, batchWriter);
+    }
+
+    private static String ndjson(int records) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= records; i++) {
+            body.append("{\"name\":\"Clinic ").append(i).append("\",\"type\":\"CLINIC\"}\n");
+        }
+        return body.toString();
+    }
+
+    @Test
+    void testImportRecords_WritesFixedSizeBatches() {
+        ImportResult result = importBody(CatalogImporter.NDJSON, ndjson(120), writer);
+
+        assertEquals(120, result.getImported());
+        assertEquals(0, result.getRejected());
+        assertEquals(List.of(50, 50, 20), batches.stream().map(List::size).toList());
+        assertEquals("Clinic 120", batches.get(2).get(19));
+    }
+
+    @Test
+    void testImportRecords_SkipsAndReportsInvalidRecords() {
+        String body = """
+                {"name":"Clinic 1","type":"CLINIC"}
+                {"name":"Clinic 2","type":"CLINIC","latitude":"north"}
+                {"name":"","type":"CLINIC"}
+                {"name":"Clinic 4","type":"HOSPITAL","notAField":1}
+                """;
+
+        ImportResult result = importBody(CatalogImporter.NDJSON, body, writer);
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of(List.of("Clinic 1", "Clinic 4")), batches);
+        assertEquals(2, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("Record 2: "));
+        assertEquals("Record 3: name: Facility name is required", result.getErrors().get(1));
+    }
+
+    @Test
+    void testImportRecords_MalformedInputStopsTheImport() {
+        String body = """
+                {"name":"Clinic 1","type":"CLINIC"}
+                {"name":"Clinic 2" "type":"CLINIC"}
+                {"name":"Clinic 3","type":"CLINIC"}
+                """;
+
+        ImportResult result = importBody(CatalogImporter.NDJSON, body, writer);
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(List.of(List.of("Clinic 1")), batches);
+        assertTrue(result.getErrors().get(0).startsWith("Record 2: Malformed input, import stopped"));
+    }
+
+    @Test
+    void testImportRecords_FailedBatchStopsAndKeepsEarlierBatches() {
+        Consumer<List<HealthcareFacility>> failingSecondBatch = batch -> {
+            writer.accept(batch);
+            if (batches.size() == 2) {
+                throw new DataIntegrityViolationException("value too long for type character varying(255)");
+            }
+        };
+
+        ImportResult result = importBody(CatalogImporter.NDJSON, ndjson(120), failingSecondBatch);
+
+        assertEquals(50, result.getImported());
+        assertEquals(50, result.getRejected());
+        assertEquals(2, batches.size());
+        assertEquals(List.of("Records 51-100 not saved, import stopped: value too long for type character varying(255)"),
+                result.getErrors());
+    }
+
+    @Test
+    void testImportRecords_FailedLastBatchIsCountedAsRejected() {
+        Consumer<List<HealthcareFacility>> failingLastBatch = batch -> {
+            if (batch.size() < 50) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            writer.accept(batch);
+        };
+
+        ImportResult result = importBody(CatalogImporter.NDJSON, ndjson(60), failingLastBatch);
+
+        assertEquals(50, result.getImported());
+        assertEquals(10, result.getRejected());
+        assertEquals(List.of("Records 51-60 not saved: duplicate key"), result.getErrors());
+    }
+
+    @Test
+    void testImportRecords_CsvHeaderNamesTheFields() {
+        String body = """
+                type,name,notes
+                CLINIC,Clinic 1,ignored column
+                HOSPITAL,,
+                """;
+
+        ImportResult result = importBody(CatalogImporter.CSV, body, writer);
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(List.of(List.of("Clinic 1")), batches);
+        assertEquals(List.of("Record 2: name: Facility name is required"), result.getErrors());
+    }
+
+    @Test
+    void testImportRecords_CsvWithoutARequiredColumnRejectsEveryRow() {
+        String body = """
+                title,type
+                Clinic 1,CLINIC
+                Clinic 2,CLINIC
+                """;
+
+        ImportResult result = importBody(CatalogImporter.CSV, body, writer);
+
+        assertEquals(0, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertTrue(batches.isEmpty());
+        assertEquals(List.of("Record 1: name: Facility name is required", "Record 2: name: Facility name is required"),
+                result.getErrors());
+    }
+
+    @Test
+    void testImportRecords_ShortCsvRowLeavesTheRestEmpty() {
+        String body = """
+                name,type,address
+                Clinic 1
+                Clinic 2,CLINIC
+                """;
+
+        ImportResult result = importBody(CatalogImporter.CSV, body, writer);
+
+        assertEquals(1, result.getImported());
+        assertEquals(List.of("Record 1: type: Facility type is required"), result.getErrors());
+    }
+
+    @Test
+    void testImportRecords_RejectsUnsupportedFormat() {
+        assertThrows(ApiException.class, () -> importBody("application/json", "[]", writer));
+        assertTrue(batches.isEmpty());
+    }
+}
@@ -0,0 +1,91 @@
+package com.civicbridge.service;
+
+import com.civicbridge.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogPayloadCacheTest {
+
+    private CatalogPayloadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CatalogPayloadCache(new ObjectMapper());
+    }
+
+    @Test
+    void testGet_ReusesPayloadUntilInvalidated() {
+        AtomicInteger loads = new AtomicInteger();
+
+        CatalogPayloadCache.Payload first = cache.get(CatalogPayloadCache.Catalog.PROGRAMS, "all",
+                () -> ApiResponse.success(List.of("a", "b", loads.incrementAndGet())));
+        CatalogPayloadCache.Payload second = cache.get(CatalogPayloadCache.Catalog.PROGRAMS, "all",
+                () -> ApiResponse.success(List.of("a", "b", loads.incrementAndGet())));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+
+        cache.invalidate(CatalogPayloadCache.Catalog.PROGRAMS);
+        CatalogPayloadCache.Payload third = cache.get(CatalogPayloadCache.Catalog.PROGRAMS, "all",
+                () -> ApiResponse.success(List.of("a", "b", loads.incrementAndGet())));
+
+        assertEquals(2, loads.get());
+        assertTrue(third.version() > first.version());
+        assertNotEquals(first.etag(), third.etag());
+    }
+
+    @Test
+    void testInvalidate_LeavesOtherCatalogUntouched() {
+        CatalogPayloadCache.Payload facilities = cache.get(CatalogPayloadCache.Catalog.HEALTHCARE, "all",
+                () -> ApiResponse.success(List.of("clinic")));
+
+        cache.invalidate(CatalogPayloadCache.Catalog.PROGRAMS);
+
+        assertSame(facilities, cache.get(CatalogPayloadCache.Catalog.HEALTHCARE, "all",
+                () -> ApiResponse.success(List.of("changed"))));
+    }
+
+    @Test
+    void testGet_SameContentGivesSameEtag() {
+        CatalogPayloadCache.Payload first = cache.get(CatalogPayloadCache.Catalog.PROGRAMS, "a",
+                () -> ApiResponse.success(List.of("x")));
+        cache.invalidate(CatalogPayloadCache.Catalog.PROGRAMS);
+        CatalogPayloadCache.Payload rebuilt = cache.get(CatalogPayloadCache.Catalog.PROGRAMS, "a",
+                () -> ApiResponse.success(List.of("x")));
+
+        // Clients keep their cached copy when a write did not change this page
+        assertEquals(first.etag(), rebuilt.etag());
+        assertTrue(rebuilt.gzip().length > 0);
+    }
+
+    @Test
+    void testGet_CachesEachFormatSeparately() {
+        List<Map<String, Object>> page = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            page.add(Map.of("id", i, "name", "Program " + i, "category", "HEALTHCARE",
+                    "region", "Maharashtra", "active", true));
+        }
+
+        CatalogPayloadCache.Payload json = cache.get(CatalogPayloadCache.Catalog.PROGRAMS, "all",
+                () -> ApiResponse.success(page));
+        CatalogPayloadCache.Payload smile = cache.get(CatalogPayloadCache.Catalog.PROGRAMS, "all",
+                CatalogPayloadCache.Format.SMILE, () -> ApiResponse.success(page));
+        CatalogPayloadCache.Payload cbor = cache.get(CatalogPayloadCache.Catalog.PROGRAMS, "all",
+                CatalogPayloadCache.Format.CBOR, () -> ApiResponse.success(page));
+
+        assertNotSame(json, smile);
+        assertNotEquals(json.etag(), smile.etag());
+        assertEquals(CatalogPayloadCache.Format.SMILE, smile.format());
+        // Shared field names and repeated values make Smile the smallest uncompressed encoding
+        assertTrue(smile.body().length < cbor.body().length);
+        assertTrue(cbor.body().length < json.body().length);
+    }
+}
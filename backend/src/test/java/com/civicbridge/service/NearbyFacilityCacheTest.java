@@ -0,0 +1,155 @@
+package com.civicbridge.service;
+
+import com.civicbridge.model.HealthcareFacility;
+import com.civicbridge.repository.jpa.HealthcareFacilityRepository;
+import com.civicbridge.service.geo.FacilityGrid;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NearbyFacilityCacheTest {
+
+    @Mock
+    private HealthcareFacilityRepository healthcareFacilityRepository;
+
+    private NearbyFacilityCache cache;
+    private final List<HealthcareFacility> facilities = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cache = new NearbyFacilityCache(healthcareFacilityRepository);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "maxCandidates", 200_000L);
+        facilities.add(facility(1L, 19.076, 72.877));
+        facilities.add(facility(2L, 19.080, 72.880));
+        facilities.add(facility(3L, 19.120, 72.900));
+
+        // The repository returns every facility within the requested radius of the requested center
+        lenient().when(healthcareFacilityRepository.findNearbyFacilities(anyDouble(), anyDouble(), anyDouble(),
+                anyString(), anyBoolean(), anyString(), anyInt(), anyInt())).thenAnswer(invocation -> {
+                    double lat = invocation.getArgument(0);
+                    double lon = invocation.getArgument(1);
+                    double radiusKm = invocation.getArgument(2, Double.class) / 1000;
+                    return facilities.stream()
+                            .filter(f -> FacilityGrid.distanceKm(lat, lon, f.getLatitude(), f.getLongitude()) <= radiusKm)
+                            .map(f -> (HealthcareFacilityRepository.FacilityDistance) distance(f.getId()))
+                            .toList();
+                });
+        lenient().when(healthcareFacilityRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Long> ids = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(ids::add);
+            return facilities.stream().filter(f -> ids.contains(f.getId())).toList();
+        });
+    }
+
+    private static HealthcareFacility facility(long id, double latitude, double longitude) {
+        HealthcareFacility facility = new HealthcareFacility();
+        facility.setId(id);
+        facility.setLatitude(latitude);
+        facility.setLongitude(longitude);
+        facility.setIsActive(true);
+        return facility;
+    }
+
+    private static HealthcareFacilityRepository.FacilityDistance distance(Long id) {
+        return new HealthcareFacilityRepository.FacilityDistance() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Double getDistanceMeters() {
+                return 0.0;
+            }
+        };
+    }
+
+    private static List<Long> ids(List<FacilityGrid.Neighbor> neighbors) {
+        return neighbors.stream().map(n -> n.facility().getId()).toList();
+    }
+
+    private void verifyLoads(int times) {
+        verify(healthcareFacilityRepository, times(times)).findNearbyFacilities(anyDouble(), anyDouble(),
+                anyDouble(), anyString(), anyBoolean(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testWithinRadius_ServesCellFromCacheByExactDistance() {
+        assertEquals(List.of(1L, 2L), ids(cache.withinRadius(19.076, 72.877, 1)));
+        // A different point in the same cell and bucket reuses the entry but measures from itself
+        assertEquals(List.of(2L, 1L), ids(cache.withinRadius(19.0805, 72.8805, 0.9)));
+
+        verifyLoads(1);
+        assertNull(cache.withinRadius(19.076, 72.877, 500));
+    }
+
+    @Test
+    void testEvict_DropsOnlyEntriesReachingThePoint() {
+        cache.withinRadius(19.076, 72.877, 2);
+        cache.withinRadius(28.61, 77.21, 2); // Delhi
+        assertEquals(2, cache.size());
+
+        cache.evict(19.077, 72.877);
+
+        assertEquals(1, cache.size());
+        cache.withinRadius(28.61, 77.21, 2);
+        verifyLoads(2);
+    }
+
+    @Test
+    void testEvict_ProbesNeighbouringCellsOfLargeBuckets() {
+        // Enough entries elsewhere that probing the cells around the point is cheaper than checking them all
+        for (int i = 0; i < 4000; i++) {
+            cache.withinRadius(-40 + (i / 100) * 0.1, -20 + (i % 100) * 0.1, 1);
+        }
+        cache.withinRadius(19.076, 72.877, 100);
+        assertEquals(4001, cache.size());
+
+        // Some 80 km away, far outside the entry's own cell but within its 100 km cover
+        cache.evict(19.8, 72.877);
+
+        assertEquals(4000, cache.size());
+        cache.withinRadius(19.076, 72.877, 100);
+        verifyLoads(4002);
+    }
+
+    @Test
+    void testWithinRadius_EvictsLeastRecentlyUsedBeyondWeight() {
+        ReflectionTestUtils.setField(cache, "maxCandidates", 4L);
+        cache.withinRadius(19.076, 72.877, 1);  // three candidates in the cell's cover
+        cache.withinRadius(28.61, 77.21, 1);    // empty, weighs one
+        cache.withinRadius(19.076, 72.877, 1);  // touch the first entry
+        cache.withinRadius(13.08, 80.27, 1);    // over the cap: the Delhi entry goes
+
+        cache.withinRadius(19.076, 72.877, 1);
+        verifyLoads(3);
+        cache.withinRadius(28.61, 77.21, 1);
+        verifyLoads(4);
+    }
+
+    @Test
+    void testWithinRadius_ReloadsAndReclaimsExpiredEntries() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 0L);
+        cache.withinRadius(19.076, 72.877, 1);
+        Thread.sleep(5);
+        cache.withinRadius(28.61, 77.21, 1);
+
+        // The second load reclaimed the expired first entry
+        assertEquals(1, cache.size());
+        Thread.sleep(5);
+        cache.withinRadius(19.076, 72.877, 1);
+        verifyLoads(3);
+    }
+}
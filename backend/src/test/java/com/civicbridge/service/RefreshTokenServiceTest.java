@@ -0,0 +1,134 @@
+package com.civicbridge.service;
+
+import com.civicbridge.exception.ApiException;
+import com.civicbridge.model.RefreshToken;
+import com.civicbridge.model.User;
+import com.civicbridge.repository.jpa.RefreshTokenRepository;
+import com.civicbridge.repository.jpa.UserRepository;
+import com.civicbridge.security.TokenRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private TokenRevocationService tokenRevocationService;
+    private RefreshTokenService service;
+    private User user;
+    // Stands in for the refresh_tokens table, by token hash
+    private final Map<String, RefreshToken> tokens = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        tokenRevocationService = mock(TokenRevocationService.class);
+        service = new RefreshTokenService(refreshTokenRepository, userRepository, tokenRevocationService);
+        ReflectionTestUtils.setField(service, "refreshTokenTtlMillis", 7 * 24 * 3600 * 1000L);
+
+        user = new User();
+        user.setId(1L);
+        user.setUsername("asha");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            token.setId((long) tokens.size() + 1);
+            tokens.put(token.getTokenHash(), token);
+            return token;
+        });
+        when(refreshTokenRepository.findByTokenHash(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(tokens.get(invocation.<String>getArgument(0))));
+        when(refreshTokenRepository.markRevoked(anyLong(), any(), any())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            for (RefreshToken token : tokens.values()) {
+                if (token.getId().equals(id) && token.getRevokedAt() == null) {
+                    token.setRevokedAt(invocation.getArgument(1));
+                    token.setRevokedReason(invocation.getArgument(2));
+                    return 1;
+                }
+            }
+            return 0;
+        });
+        when(refreshTokenRepository.findRevokedReason(anyLong())).thenAnswer(invocation -> tokens.values().stream()
+                .filter(token -> token.getId().equals(invocation.getArgument(0)))
+                .map(RefreshToken::getRevokedReason)
+                .filter(Objects::nonNull)
+                .findFirst());
+        when(refreshTokenRepository.revokeAllByUserId(anyLong(), any(), any())).thenAnswer(invocation -> {
+            int revoked = 0;
+            for (RefreshToken token : tokens.values()) {
+                if (token.getUserId().equals(invocation.getArgument(0)) && token.getRevokedAt() == null) {
+                    token.setRevokedAt(invocation.getArgument(1));
+                    token.setRevokedReason(invocation.getArgument(2));
+                    revoked++;
+                }
+            }
+            return revoked;
+        });
+    }
+
+    @Test
+    void testRotate_IssuesNewTokenAndRejectsTheRotatedOne() {
+        String first = service.issue(user);
+
+        RefreshTokenService.Rotation rotation = service.rotate(first);
+
+        assertSame(user, rotation.user());
+        assertNotEquals(first, rotation.refreshToken());
+        assertThrows(ApiException.class, () -> service.rotate(first));
+    }
+
+    @Test
+    void testRotate_ReuseRevokesTheWholeFamily() {
+        String first = service.issue(user);
+        String second = service.rotate(first).refreshToken();
+        String otherSession = service.issue(user);
+
+        // The rotated token turning up again means it was copied
+        assertThrows(ApiException.class, () -> service.rotate(first));
+
+        verify(refreshTokenRepository).revokeAllByUserId(eq(1L), any(), eq(RefreshToken.RevocationReason.REVOKED));
+        verify(tokenRevocationService).revokeAll("asha");
+        assertThrows(ApiException.class, () -> service.rotate(second));
+        assertThrows(ApiException.class, () -> service.rotate(otherSession));
+    }
+
+    @Test
+    void testRotate_LoggedOutTokenIsRefusedWithoutEndingOtherSessions() {
+        String loggedOut = service.issue(user);
+        String otherDevice = service.issue(user);
+        service.revoke(loggedOut);
+
+        // Another tab still held the logged-out token; that is not theft
+        assertThrows(ApiException.class, () -> service.rotate(loggedOut));
+
+        verify(refreshTokenRepository, never()).revokeAllByUserId(anyLong(), any(), any());
+        verify(tokenRevocationService, never()).revokeAll(anyString());
+        assertSame(user, service.rotate(otherDevice).user());
+    }
+
+    @Test
+    void testRotate_RefusesExpiredAndUnknownTokens() {
+        String token = service.issue(user);
+        tokens.values().forEach(t -> t.setExpiresAt(LocalDateTime.now().minusSeconds(1)));
+
+        assertThrows(ApiException.class, () -> service.rotate(token));
+        assertThrows(ApiException.class, () -> service.rotate("not-a-token"));
+        assertThrows(ApiException.class, () -> service.rotate(null));
+
+        verify(refreshTokenRepository, never()).markRevoked(anyLong(), any(), any());
+        verify(tokenRevocationService, never()).revokeAll(anyString());
+    }
+}
@@ -0,0 +1,131 @@
+package com.civicbridge.service;
+
+import com.civicbridge.dto.DashboardStatsDTO;
+import com.civicbridge.dto.LiveStatsDTO;
+import com.civicbridge.repository.jpa.HealthcareFacilityRepository;
+import com.civicbridge.repository.jpa.ProgramRepository;
+import com.civicbridge.repository.jpa.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StatsServiceTest {
+
+    private UserRepository userRepository;
+    private ProgramRepository programRepository;
+    private HealthcareFacilityRepository healthcareFacilityRepository;
+    private SimpMessagingTemplate messagingTemplate;
+    private LiveMetrics liveMetrics;
+    private StatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        programRepository = mock(ProgramRepository.class);
+        healthcareFacilityRepository = mock(HealthcareFacilityRepository.class);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        liveMetrics = mock(LiveMetrics.class);
+        when(liveMetrics.snapshot()).thenReturn(LiveStatsDTO.builder().queriesPerMinute(12).build());
+        statsService = new StatsService(userRepository, programRepository, healthcareFacilityRepository,
+                messagingTemplate, new SimpleMeterRegistry(), liveMetrics);
+        // Keep the periodic live-metrics broadcast out of the way; only changes trigger one
+        ReflectionTestUtils.setField(statsService, "liveIntervalMillis", Long.MAX_VALUE);
+    }
+
+    @Test
+    void testRecordAdded_MovesTheTotals() {
+        statsService.recordUsersAdded(2);
+        statsService.recordProgramsAdded(5);
+        statsService.recordHealthcareFacilitiesAdded(1);
+        statsService.recordUsersAdded(1);
+
+        DashboardStatsDTO stats = statsService.currentStats();
+        assertEquals(3, stats.getTotalUsers());
+        assertEquals(5, stats.getTotalPrograms());
+        assertEquals(1, stats.getTotalHealthcareFacilities());
+    }
+
+    @Test
+    void testReconcile_CorrectsDriftInBothDirections() {
+        when(userRepository.count()).thenReturn(10L);
+        when(programRepository.count()).thenReturn(4L);
+        when(healthcareFacilityRepository.count()).thenReturn(7L);
+        statsService.reconcile();
+        assertEquals(10, statsService.currentStats().getTotalUsers());
+
+        // Counted too many here (a write that rolled back), too few there (rows from another node)
+        statsService.recordUsersAdded(3);
+        when(userRepository.count()).thenReturn(12L);
+        when(programRepository.count()).thenReturn(6L);
+        statsService.reconcile();
+
+        DashboardStatsDTO stats = statsService.currentStats();
+        assertEquals(12, stats.getTotalUsers());
+        assertEquals(6, stats.getTotalPrograms());
+        assertEquals(7, stats.getTotalHealthcareFacilities());
+    }
+
+    @Test
+    void testReconcile_KeepsIncrementMadeWhileCounting() {
+        statsService.recordUsersAdded(10);
+        // A registration commits after count(*) has read the table but before the result is applied
+        when(userRepository.count()).thenAnswer(invocation -> {
+            statsService.recordUsersAdded(1);
+            return 10L;
+        });
+
+        statsService.reconcile();
+
+        assertEquals(11, statsService.currentStats().getTotalUsers());
+    }
+
+    @Test
+    void testBroadcastStats_CoalescesWritesWithinAnInterval() {
+        statsService.broadcastStats();
+        verifyNoInteractions(messagingTemplate);
+
+        for (int i = 0; i < 100; i++) {
+            statsService.recordUsersAdded(1);
+            statsService.recordProgramsAdded(2);
+        }
+        statsService.broadcastStats();
+
+        ArgumentCaptor<DashboardStatsDTO> sent = ArgumentCaptor.forClass(DashboardStatsDTO.class);
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/stats"), sent.capture());
+        assertEquals(100, sent.getValue().getTotalUsers());
+        assertEquals(200, sent.getValue().getTotalPrograms());
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/admin/stats"), any(Object.class));
+
+        // Nothing changed during the next interval
+        statsService.broadcastStats();
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/stats"), any(Object.class));
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/admin/stats"), any(Object.class));
+    }
+
+    @Test
+    void testBroadcastStats_LiveMetricsOnlyGoToTheAdminTopic() {
+        statsService.recordUsersAdded(1);
+        statsService.broadcastStats();
+
+        ArgumentCaptor<DashboardStatsDTO> published = ArgumentCaptor.forClass(DashboardStatsDTO.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/stats"), published.capture());
+        assertNull(published.getValue().getLive());
+        ArgumentCaptor<DashboardStatsDTO> admin = ArgumentCaptor.forClass(DashboardStatsDTO.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/admin/stats"), admin.capture());
+        assertEquals(12, admin.getValue().getLive().getQueriesPerMinute());
+        assertEquals(1, admin.getValue().getTotalUsers());
+
+        // A periodic live-metrics broadcast with no change to the totals leaves the public topic alone
+        ReflectionTestUtils.setField(statsService, "liveIntervalMillis", 0L);
+        statsService.broadcastStats();
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/stats"), any(Object.class));
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/admin/stats"), any(Object.class));
+    }
+}
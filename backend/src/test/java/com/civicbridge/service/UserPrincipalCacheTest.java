@@ -0,0 +1,92 @@
+package com.civicbridge.service;
+
+import com.civicbridge.model.Role;
+import com.civicbridge.model.User;
+import com.civicbridge.repository.jpa.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserPrincipalCacheTest {
+
+    private UserRepository userRepository;
+    private UserPrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        cache = new UserPrincipalCache(userRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+    }
+
+    @Test
+    void testFindByUsername_LoadsOnceAndServesByIdToo() {
+        when(userRepository.findByUsername("asha")).thenReturn(Optional.of(user(1L, "asha")));
+
+        assertEquals(1L, cache.findByUsername("asha").orElseThrow().getId());
+        assertEquals("asha", cache.findByUsername("asha").orElseThrow().getUsername());
+        assertEquals("asha", cache.findById(1L).orElseThrow().getUsername());
+
+        verify(userRepository, times(1)).findByUsername("asha");
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void testCachedCopy_HasNoPasswordAndReadOnlyRoles() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "asha")));
+
+        User cached = cache.findById(1L).orElseThrow();
+
+        assertNull(cached.getPassword());
+        assertThrows(UnsupportedOperationException.class, () -> cached.getRoles().add(Role.ROLE_ADMIN));
+    }
+
+    @Test
+    void testInvalidate_ByUsernameDropsBothKeys() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "asha")));
+        when(userRepository.findByUsername("asha")).thenReturn(Optional.of(user(1L, "asha")));
+        cache.findById(1L);
+
+        cache.onUserInvalidation(new UserInvalidationEvent(null, "asha"));
+        cache.findById(1L);
+        cache.findByUsername("asha");
+
+        verify(userRepository, times(2)).findById(1L);
+        verify(userRepository, never()).findByUsername("asha");
+    }
+
+    @Test
+    void testBound_EvictsLeastRecentlyUsed() {
+        for (long id = 1; id <= 3; id++) {
+            when(userRepository.findById(id)).thenReturn(Optional.of(user(id, "user" + id)));
+        }
+        cache.findById(1L);
+        cache.findById(2L);
+        cache.findById(1L);
+        cache.findById(3L);
+
+        cache.findById(1L);
+        cache.findById(2L);
+
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(2)).findById(2L);
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setPassword("$2a$10$hash");
+        user.setRoles(new HashSet<>(Set.of(Role.ROLE_USER)));
+        return user;
+    }
+}
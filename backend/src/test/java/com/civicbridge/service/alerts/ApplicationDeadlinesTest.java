@@ -0,0 +1,45 @@
+package com.civicbridge.service.alerts;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplicationDeadlinesTest {
+
+    private static final LocalDate NEW_YEARS_EVE = LocalDate.of(2024, 12, 31);
+
+    @Test
+    void testParse_NumericFormats() {
+        assertEquals(NEW_YEARS_EVE, ApplicationDeadlines.parse("2024-12-31"));
+        assertEquals(NEW_YEARS_EVE, ApplicationDeadlines.parse("31/12/2024"));
+        assertEquals(NEW_YEARS_EVE, ApplicationDeadlines.parse("31-12-2024"));
+        assertEquals(NEW_YEARS_EVE, ApplicationDeadlines.parse("31.12.2024"));
+        assertEquals(LocalDate.of(2025, 3, 5), ApplicationDeadlines.parse("5/3/2025"));
+    }
+
+    @Test
+    void testParse_MonthNames() {
+        assertEquals(NEW_YEARS_EVE, ApplicationDeadlines.parse("31 December 2024"));
+        assertEquals(NEW_YEARS_EVE, ApplicationDeadlines.parse("31st Dec, 2024"));
+        assertEquals(NEW_YEARS_EVE, ApplicationDeadlines.parse("December 31, 2024"));
+        assertEquals(NEW_YEARS_EVE, ApplicationDeadlines.parse("Dec. 31st 2024"));
+        assertEquals(LocalDate.of(2025, 9, 1), ApplicationDeadlines.parse("1 Sept 2025"));
+    }
+
+    @Test
+    void testParse_DateInsideText() {
+        assertEquals(NEW_YEARS_EVE, ApplicationDeadlines.parse("Apply by 31/12/2024 (extended)"));
+        assertEquals(NEW_YEARS_EVE, ApplicationDeadlines.parse("Last date: 31 December 2024"));
+    }
+
+    @Test
+    void testParse_NotADeadline() {
+        assertNull(ApplicationDeadlines.parse(null));
+        assertNull(ApplicationDeadlines.parse("  "));
+        assertNull(ApplicationDeadlines.parse("Rolling admissions"));
+        assertNull(ApplicationDeadlines.parse("March 2025"));
+        assertNull(ApplicationDeadlines.parse("31/02/2024"));
+    }
+}
@@ -0,0 +1,213 @@
+package com.civicbridge.service.alerts;
+
+import com.civicbridge.dto.AlertRecipient;
+import com.civicbridge.model.AlertQuota;
+import com.civicbridge.model.EmailOutboxMessage;
+import com.civicbridge.model.Program;
+import com.civicbridge.model.ProgramAlert;
+import com.civicbridge.repository.jpa.AlertQuotaRepository;
+import com.civicbridge.repository.jpa.ProgramAlertRepository;
+import com.civicbridge.repository.jpa.ProgramRepository;
+import com.civicbridge.repository.jpa.UserRepository;
+import com.civicbridge.service.EmailNotificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProgramAlertEngineTest {
+
+    private ProgramAlertRepository programAlertRepository;
+    private AlertQuotaRepository alertQuotaRepository;
+    private ProgramRepository programRepository;
+    private UserRepository userRepository;
+    private EmailNotificationService emailNotificationService;
+    private ProgramAlertEngine engine;
+    private Program program;
+    private ProgramAlert alert;
+    // Users in the program's region, by ascending id, as findAlertRecipients pages through them
+    private final List<AlertRecipient> users = new ArrayList<>();
+    private final List<String> emailed = new ArrayList<>();
+    // Today's quota rows by user id, as the database would hold them
+    private final Map<Long, AlertQuota> quotas = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        programAlertRepository = mock(ProgramAlertRepository.class);
+        alertQuotaRepository = mock(AlertQuotaRepository.class);
+        programRepository = mock(ProgramRepository.class);
+        userRepository = mock(UserRepository.class);
+        emailNotificationService = mock(EmailNotificationService.class);
+        engine = new ProgramAlertEngine(programAlertRepository, alertQuotaRepository, programRepository,
+                userRepository, emailNotificationService, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "deadlineReminderDays", 7);
+        ReflectionTestUtils.setField(engine, "newProgramWindowHours", 24L);
+        ReflectionTestUtils.setField(engine, "chunkSize", 1000);
+        ReflectionTestUtils.setField(engine, "maxPerUserPerDay", 3);
+        ReflectionTestUtils.setField(engine, "maxAttempts", 5);
+        ReflectionTestUtils.setField(engine, "retryDelayMinutes", 15L);
+
+        program = new Program();
+        program.setId(7L);
+        program.setName("Kisan Support");
+        program.setRegion(" Punjab ");
+        program.setEligibilityCriteria("Farmers aged 18-60 years with annual income below Rs. 2 lakh");
+        when(programRepository.findById(7L)).thenReturn(Optional.of(program));
+
+        alert = new ProgramAlert();
+        alert.setId(1L);
+        alert.setProgramId(7L);
+        alert.setKind(ProgramAlert.Kind.NEW_PROGRAM);
+        // The repository only hands out alerts that are not complete yet
+        when(programAlertRepository.findNextIncompleteForUpdate(any(LocalDateTime.class)))
+                .thenAnswer(invocation -> alert.getCompletedAt() == null ? Optional.of(alert) : Optional.empty());
+
+        when(userRepository.findAlertRecipients(anyLong(), any(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            int limit = invocation.<Pageable>getArgument(2).getPageSize();
+            return users.stream().filter(u -> u.id() > afterId).limit(limit).toList();
+        });
+        when(alertQuotaRepository.findAllForUpdate(anyCollection(), any(LocalDate.class))).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream()
+                        .map(id -> quotas.computeIfAbsent(id, k -> new AlertQuota(k, LocalDate.now(), 0)))
+                        .toList());
+        doAnswer(invocation -> {
+            invocation.<List<EmailOutboxMessage>>getArgument(0).forEach(m -> emailed.add(m.getRecipient()));
+            return null;
+        }).when(emailNotificationService).sendNotifications(anyList());
+    }
+
+    private void user(long id, Integer age, Long annualIncome, String occupation) {
+        users.add(new AlertRecipient(id, "user" + id + "@example.com", null, "user" + id, "Punjab", age,
+                annualIncome, occupation));
+    }
+
+    @Test
+    void testFanOutChunk_EmailsOnlyUsersTheRuleAdmits() {
+        user(1, 40, 150_000L, "Farmer");
+        user(2, 70, 150_000L, "FARMER");    // too old
+        user(3, 40, 900_000L, "FARMER");    // earns too much
+        user(4, 30, 100_000L, "Student");   // other occupation
+        user(5, null, null, null);          // unknown profile is not excluded
+
+        assertTrue(engine.fanOutChunk());
+
+        assertEquals(List.of("user1@example.com", "user5@example.com"), emailed);
+        verify(userRepository).findAlertRecipients(eq(0L), eq("punjab"), any(Pageable.class));
+        assertEquals(2, alert.getRecipients());
+        assertEquals(5L, alert.getLastUserId());
+        assertNotNull(alert.getCompletedAt());
+        assertFalse(engine.fanOutChunk());
+    }
+
+    @Test
+    void testFanOutChunk_NationwideProgramIsNotFilteredByRegion() {
+        program.setRegion("All India");
+        user(1, 30, null, null);
+
+        engine.fanOutChunk();
+
+        verify(userRepository).findAlertRecipients(eq(0L), isNull(), any(Pageable.class));
+        assertEquals(List.of("user1@example.com"), emailed);
+    }
+
+    @Test
+    void testScan_ResumesFromCheckpointWithoutEmailingAnyoneTwice() {
+        ReflectionTestUtils.setField(engine, "chunkSize", 2);
+        for (long id = 1; id <= 5; id++) {
+            user(id, 30, 100_000L, "FARMER");
+        }
+        // A previous run already queued the first two users' emails with its checkpoint
+        alert.setLastUserId(2L);
+        alert.setRecipients(2);
+
+        engine.scan();
+
+        assertEquals(List.of("user3@example.com", "user4@example.com", "user5@example.com"), emailed);
+        ArgumentCaptor<Long> afterIds = ArgumentCaptor.forClass(Long.class);
+        verify(userRepository, times(2)).findAlertRecipients(afterIds.capture(), eq("punjab"), any(Pageable.class));
+        assertEquals(List.of(2L, 4L), afterIds.getAllValues());
+        assertEquals(5, alert.getRecipients());
+        assertNotNull(alert.getCompletedAt());
+
+        // A completed alert is not picked up again
+        engine.scan();
+        assertEquals(3, emailed.size());
+    }
+
+    @Test
+    void testFanOutChunk_InactiveProgramCompletesWithoutEmails() {
+        program.setActive(false);
+        user(1, 30, 100_000L, "FARMER");
+
+        assertTrue(engine.fanOutChunk());
+
+        assertNotNull(alert.getCompletedAt());
+        verifyNoInteractions(emailNotificationService);
+        verify(userRepository, never()).findAlertRecipients(anyLong(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void testFanOutChunk_SkipsUsersWhoReachedTheDailyCap() {
+        user(1, 30, 100_000L, "FARMER");
+        user(2, 30, 100_000L, "FARMER");
+        quotas.put(1L, new AlertQuota(1L, LocalDate.now(), 3));
+        quotas.put(2L, new AlertQuota(2L, LocalDate.now(), 2));
+
+        engine.fanOutChunk();
+
+        assertEquals(List.of("user2@example.com"), emailed);
+        assertEquals(1, alert.getRecipients());
+        assertEquals(3, quotas.get(1L).getSent());
+        assertEquals(3, quotas.get(2L).getSent());
+        verify(alertQuotaRepository).createMissing(eq(List.of(1L, 2L)), eq(LocalDate.now()));
+    }
+
+    @Test
+    void testScan_FailingAlertIsParkedSoTheOthersStillGoOut() {
+        user(1, 30, 100_000L, "FARMER");
+        ProgramAlert failing = new ProgramAlert();
+        failing.setId(0L);
+        failing.setProgramId(6L);
+        failing.setKind(ProgramAlert.Kind.DEADLINE_REMINDER);
+        when(programRepository.findById(6L)).thenThrow(new QueryTimeoutException("canceling statement"));
+        // The failing alert is older, so it comes first until recordFailure parks it
+        boolean[] parked = new boolean[1];
+        when(programAlertRepository.findNextIncompleteForUpdate(any(LocalDateTime.class))).thenAnswer(invocation ->
+                !parked[0] ? Optional.of(failing)
+                        : alert.getCompletedAt() == null ? Optional.of(alert) : Optional.empty());
+        when(programAlertRepository.recordFailure(eq(0L), eq(5), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    parked[0] = true;
+                    return 1;
+                });
+
+        engine.scan();
+
+        assertEquals(List.of("user1@example.com"), emailed);
+        assertNotNull(alert.getCompletedAt());
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(programAlertRepository).recordFailure(eq(0L), eq(5), retryAt.capture(), any(LocalDateTime.class));
+        assertTrue(retryAt.getValue().isAfter(LocalDateTime.now().plusMinutes(14)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.civicbridge.service.eligibility;
+
+import com.civicbridge.dto.ProgramSummary;
+import com.civicbridge.model.Program;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EligibilityIndexTest {
+
+    @Test
+    void testParse_ExtractsAgeIncomeAndOccupation() {
+        EligibilityRule rule = EligibilityParser.parse(
+                "Small farmers aged 18-60 years with annual income below Rs. 2 lakh");
+
+        assertEquals(18, rule.minAge());
+        assertEquals(60, rule.maxAge());
+        assertEquals(200_000L, rule.maxIncome());
+        assertEquals(Set.of("FARMER"), rule.occupations());
+    }
+
+    @Test
+    void testParse_SeniorCitizensAndUnknownTextAreLenient() {
+        assertEquals(60, EligibilityParser.parse("Senior citizens living alone").minAge());
+        assertEquals(EligibilityRule.UNRESTRICTED, EligibilityParser.parse(null));
+        assertEquals(EligibilityRule.UNRESTRICTED, EligibilityParser.parse("All residents"));
+    }
+
+    @Test
+    void testMatch_IntersectsAllPredicates() {
+        EligibilityIndex index = EligibilityIndex.build(List.of(
+                program(1L, "AGRICULTURE", "Punjab", "Farmers with income less than 150000"),
+                program(2L, "EDUCATION", "All India", "Students aged 16-25 years"),
+                program(3L, "HEALTHCARE", "New Delhi", "Senior citizens"),
+                program(4L, "HEALTHCARE", "National", "Everyone")));
+
+        EligibilityProfile farmer = new EligibilityProfile("Punjab", 40, 120_000L, "FARMER");
+        assertEquals(List.of(1L, 4L), ids(index.match(farmer, null)));
+
+        EligibilityProfile richFarmer = new EligibilityProfile("Punjab", 40, 500_000L, "FARMER");
+        assertEquals(List.of(4L), ids(index.match(richFarmer, null)));
+
+        EligibilityProfile student = new EligibilityProfile("Delhi", 20, null, "STUDENT");
+        assertEquals(List.of(2L, 4L), ids(index.match(student, null)));
+
+        EligibilityProfile senior = new EligibilityProfile("delhi", 70, null, null);
+        assertEquals(List.of(3L, 4L), ids(index.match(senior, "healthcare")));
+    }
+
+    @Test
+    void testMatch_UnknownProfileDoesNotExclude() {
+        EligibilityIndex index = EligibilityIndex.build(List.of(
+                program(1L, "AGRICULTURE", "Punjab", "Farmers aged 18-60 years"),
+                program(2L, "EDUCATION", "Kerala", "Students")));
+
+        assertEquals(List.of(1L, 2L), ids(index.match(new EligibilityProfile(null, null, null, null), null)));
+        assertTrue(index.match(new EligibilityProfile(null, null, null, null), "UNKNOWN").isEmpty());
+    }
+
+    private static Program program(Long id, String category, String region, String criteria) {
+        Program program = new Program();
+        program.setId(id);
+        program.setName("Program " + id);
+        program.setCategory(category);
+        program.setRegion(region);
+        program.setEligibilityCriteria(criteria);
+        return program;
+    }
+
+    private static List<Long> ids(List<ProgramSummary> programs) {
+        return programs.stream().map(ProgramSummary::getId).toList();
+    }
+}
@@ -0,0 +1,44 @@
+package com.civicbridge.service.eligibility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EligibilityRuleTest {
+
+    private final EligibilityRule rule = EligibilityParser.parse(
+            "Small farmers aged 18-60 years with annual income below Rs. 2 lakh");
+
+    @Test
+    void testAdmits_AgeBoundsAreInclusive() {
+        assertTrue(rule.admits(new EligibilityProfile("Punjab", 18, 100_000L, "FARMER")));
+        assertTrue(rule.admits(new EligibilityProfile("Punjab", 60, 100_000L, "FARMER")));
+        assertFalse(rule.admits(new EligibilityProfile("Punjab", 17, 100_000L, "FARMER")));
+        assertFalse(rule.admits(new EligibilityProfile("Punjab", 61, 100_000L, "FARMER")));
+    }
+
+    @Test
+    void testAdmits_IncomeCapIsInclusive() {
+        assertTrue(rule.admits(new EligibilityProfile("Punjab", 40, 200_000L, "FARMER")));
+        assertFalse(rule.admits(new EligibilityProfile("Punjab", 40, 200_001L, "FARMER")));
+        assertFalse(rule.admits(new EligibilityProfile("Punjab", 40, 120_000L, "STUDENT")));
+    }
+
+    @Test
+    void testAdmits_MissingAttributesDoNotExclude() {
+        assertTrue(rule.admits(new EligibilityProfile(null, null, null, null)));
+        assertTrue(rule.admits(new EligibilityProfile(null, 40, null, null)));
+        assertTrue(EligibilityRule.UNRESTRICTED.admits(new EligibilityProfile("Kerala", 90, 5_000_000L, "STUDENT")));
+    }
+
+    @Test
+    void testAdmits_LeavesRegionToTheCaller() {
+        // The alert engine selects users by region in SQL and the index by its region bitmaps
+        EligibilityRule anyone = new EligibilityRule(null, null, null, Set.of());
+
+        assertTrue(anyone.admits(new EligibilityProfile("Kerala", 30, null, null)));
+        assertTrue(rule.admits(new EligibilityProfile("Kerala", 30, null, "FARMER")));
+    }
+}
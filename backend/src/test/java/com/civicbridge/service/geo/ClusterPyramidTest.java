@@ -0,0 +1,68 @@
+package com.civicbridge.service.geo;
+
+import com.civicbridge.dto.FacilityCluster;
+import com.civicbridge.model.HealthcareFacility;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterPyramidTest {
+
+    private static HealthcareFacility facility(long id, String type, boolean free, double latitude, double longitude) {
+        HealthcareFacility facility = new HealthcareFacility();
+        facility.setId(id);
+        facility.setType(type);
+        facility.setFreeServices(free);
+        facility.setLatitude(latitude);
+        facility.setLongitude(longitude);
+        facility.setIsActive(true);
+        return facility;
+    }
+
+    private final ClusterPyramid pyramid = ClusterPyramid.build(List.of(
+            facility(1L, "HOSPITAL", true, 19.07, 72.88),   // Mumbai
+            facility(2L, "CLINIC", false, 19.08, 72.89),    // Mumbai
+            facility(3L, "CLINIC", true, 28.61, 77.21)));   // Delhi
+
+    @Test
+    void testClusters_WholeWorldAtLevelZero() {
+        List<FacilityCluster> clusters = pyramid.clusters(0, 0, 0, 1);
+
+        assertEquals(1, clusters.size());
+        FacilityCluster world = clusters.get(0);
+        assertEquals(3, world.getCount());
+        assertEquals(2, world.getFreeCount());
+        assertEquals(Map.of("HOSPITAL", 1, "CLINIC", 2), world.getCountsByType());
+        assertNull(world.getFacilityId());
+    }
+
+    @Test
+    void testClusters_SplitsCitiesAtCityZoom() {
+        int level = 8;
+        int x0 = ClusterPyramid.tileX(72.0, level);
+        int y0 = ClusterPyramid.tileY(29.0, level);
+        // Cells are ~1.4 degrees wide here; rows grow southwards from Delhi's latitude past Mumbai's
+        int span = ClusterPyramid.tileY(19.0, level) - y0 + 1;
+
+        List<FacilityCluster> clusters = pyramid.clusters(level, x0, y0, span);
+
+        assertEquals(2, clusters.size());
+        FacilityCluster delhi = clusters.stream().filter(c -> c.getCount() == 1).findFirst().orElseThrow();
+        assertEquals(3L, delhi.getFacilityId());
+        assertEquals(28.61, delhi.getLatitude(), 1e-9);
+    }
+
+    @Test
+    void testClusters_SingleFacilitiesAtMaxLevel() {
+        int x = ClusterPyramid.tileX(72.88, ClusterPyramid.MAX_LEVEL);
+        int y = ClusterPyramid.tileY(19.07, ClusterPyramid.MAX_LEVEL);
+
+        List<FacilityCluster> clusters = pyramid.clusters(ClusterPyramid.MAX_LEVEL, x, y, 1);
+
+        assertEquals(1, clusters.size());
+        assertEquals(1L, clusters.get(0).getFacilityId());
+    }
+}
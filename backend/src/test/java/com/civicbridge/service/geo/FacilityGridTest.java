@@ -0,0 +1,148 @@
+package com.civicbridge.service.geo;
+
+import com.civicbridge.model.HealthcareFacility;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacilityGridTest {
+
+    private static HealthcareFacility facility(long id, Double latitude, Double longitude) {
+        HealthcareFacility facility = new HealthcareFacility();
+        facility.setId(id);
+        facility.setName("Facility " + id);
+        facility.setLatitude(latitude);
+        facility.setLongitude(longitude);
+        facility.setIsActive(true);
+        return facility;
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2) + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * FacilityGrid.EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    @Test
+    void testWithinRadius_MatchesBruteForce() {
+        Random random = new Random(42);
+        List<HealthcareFacility> facilities = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            facilities.add(facility(id, 18.4 + random.nextDouble() * 0.8, 72.7 + random.nextDouble() * 0.8));
+        }
+        FacilityGrid grid = FacilityGrid.build(facilities);
+
+        double lat = 18.9;
+        double lon = 73.1;
+        List<Long> expected = facilities.stream()
+                .filter(f -> haversineKm(lat, lon, f.getLatitude(), f.getLongitude()) <= 12)
+                .sorted(Comparator.comparingDouble(f -> haversineKm(lat, lon, f.getLatitude(), f.getLongitude())))
+                .map(HealthcareFacility::getId)
+                .toList();
+
+        List<Long> actual = grid.withinRadius(lat, lon, 12).stream().map(n -> n.facility().getId()).toList();
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testNearest_ReturnsKClosestEvenWhenFarAway() {
+        FacilityGrid grid = FacilityGrid.build(List.of(
+                facility(1L, 28.61, 77.21),   // Delhi
+                facility(2L, 19.07, 72.88),   // Mumbai
+                facility(3L, 13.08, 80.27),   // Chennai
+                facility(4L, 22.57, 88.36))); // Kolkata
+
+        List<FacilityGrid.Neighbor> nearest = grid.nearest(18.52, 73.86, 2); // Pune
+
+        assertEquals(List.of(2L, 3L), nearest.stream().map(n -> n.facility().getId()).toList());
+        assertEquals(120, nearest.get(0).distanceKm(), 10);
+    }
+
+    @Test
+    void testBuild_SkipsInactiveAndUnlocatedFacilities() {
+        HealthcareFacility inactive = facility(2L, 19.0, 73.0);
+        inactive.setIsActive(false);
+
+        FacilityGrid grid = FacilityGrid.build(List.of(facility(1L, 19.0, 73.0), inactive, facility(3L, null, 73.0)));
+
+        assertEquals(1, grid.size());
+        assertEquals(1, grid.withinRadius(19.0, 73.0, 1).size());
+    }
+
+    @Test
+    void testWithinRadius_IntersectsTagTypeAndFreeFilters() {
+        HealthcareFacility clinic = facility(1L, 19.0, 73.0);
+        clinic.setType("CLINIC");
+        clinic.setFreeServices(true);
+        clinic.setServiceTags(",dental,,vaccination,");
+        HealthcareFacility hospital = facility(2L, 19.01, 73.0);
+        hospital.setType("HOSPITAL");
+        hospital.setFreeServices(true);
+        hospital.setServiceTags(",vaccination,");
+        HealthcareFacility paid = facility(3L, 19.02, 73.0);
+        paid.setType("CLINIC");
+        paid.setServiceTags(",dental,,vaccination,");
+        FacilityGrid grid = FacilityGrid.build(List.of(clinic, hospital, paid));
+
+        assertNull(grid.select(List.of(), null, false));
+        assertEquals(List.of(1L, 2L), ids(grid, grid.select(List.of("vaccination"), null, true)));
+        assertEquals(List.of(1L, 3L), ids(grid, grid.select(List.of("dental", "vaccination"), "CLINIC", false)));
+        assertEquals(List.of(), ids(grid, grid.select(List.of("dental", "surgery"), null, false)));
+    }
+
+    private static List<Long> ids(FacilityGrid grid, BitSet mask) {
+        return grid.withinRadius(19.0, 73.0, 10, mask).stream().map(n -> n.facility().getId()).toList();
+    }
+
+    @Test
+    void testWithinRadius_CrossesAntimeridian() {
+        FacilityGrid grid = FacilityGrid.build(List.of(facility(1L, 0.0, 179.99), facility(2L, 0.0, -179.99)));
+
+        assertEquals(2, grid.withinRadius(0.0, 180.0, 5).size());
+    }
+
+    @Test
+    void testWith_MatchesRebuild() {
+        Random random = new Random(7);
+        List<HealthcareFacility> facilities = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            HealthcareFacility facility = facility(id, 18.8 + random.nextDouble() * 0.2, 72.8 + random.nextDouble() * 0.2);
+            facility.setServiceTags(id % 3 == 0 ? ",dental," : ",vaccination,");
+            facilities.add(facility);
+        }
+        FacilityGrid grid = FacilityGrid.build(facilities);
+
+        HealthcareFacility moved = facility(10L, 18.95, 72.95);
+        moved.setServiceTags(",dental,");
+        HealthcareFacility deactivated = facility(20L, 18.9, 72.9);
+        deactivated.setIsActive(false);
+        HealthcareFacility added = facility(501L, 18.9, 72.9);
+        added.setServiceTags(",dental,");
+        FacilityGrid updated = grid.with(moved).with(deactivated).with(added);
+
+        facilities.set(9, moved);
+        facilities.set(19, deactivated);
+        facilities.add(added);
+        FacilityGrid rebuilt = FacilityGrid.build(facilities);
+
+        assertEquals(rebuilt.size(), updated.size());
+        assertEquals(500, grid.size());
+        for (List<String> tags : List.of(List.<String>of(), List.of("dental"), List.of("vaccination"))) {
+            assertEquals(
+                    rebuilt.withinRadius(18.9, 72.9, 8, rebuilt.select(tags, null, false)).stream()
+                            .map(n -> n.facility().getId()).toList(),
+                    updated.withinRadius(18.9, 72.9, 8, updated.select(tags, null, false)).stream()
+                            .map(n -> n.facility().getId()).toList());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.civicbridge.service.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeohashTest {
+
+    @Test
+    void testEncode_KnownCell() {
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+        assertEquals("tdr1v", Geohash.encode(12.97, 77.59, 5)); // Bengaluru
+    }
+
+    @Test
+    void testBounds_ContainPointAndMatchPrecision() {
+        String hash = Geohash.encode(19.07, 72.88, 5);
+        double[] bounds = Geohash.bounds(hash);
+
+        assertTrue(bounds[0] <= 19.07 && 19.07 < bounds[2]);
+        assertTrue(bounds[1] <= 72.88 && 72.88 < bounds[3]);
+        assertEquals(360 / Math.pow(2, 13), bounds[3] - bounds[1], 1e-12);
+        assertEquals(180 / Math.pow(2, 12), bounds[2] - bounds[0], 1e-12);
+        assertEquals(hash, Geohash.encode((bounds[0] + bounds[2]) / 2, (bounds[1] + bounds[3]) / 2, 5));
+    }
+}
@@ -0,0 +1,75 @@
+package com.civicbridge.service.hours;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperatingHoursTest {
+
+    // 2024-01-15 is a Monday
+    private static boolean openAt(String hours, int dayOffset, int hour, int minute) {
+        byte[] schedule = OperatingHours.parse(hours);
+        assertNotNull(schedule, () -> "could not parse: " + hours);
+        return OperatingHours.isOpen(schedule,
+                OperatingHours.slotOf(LocalDateTime.of(2024, 1, 15 + dayOffset, hour, minute)));
+    }
+
+    @Test
+    void testParse_DayRangeWithMeridiem() {
+        assertTrue(openAt("Mon-Fri 9AM-5PM", 0, 9, 0));
+        assertTrue(openAt("Mon-Fri 9AM-5PM", 4, 16, 55));
+        assertFalse(openAt("Mon-Fri 9AM-5PM", 4, 17, 0));
+        assertFalse(openAt("Mon-Fri 9AM-5PM", 5, 12, 0));
+        assertFalse(openAt("Mon-Fri 9AM-5PM", 0, 8, 55));
+    }
+
+    @Test
+    void testParse_MultipleSegmentsAndClosedDays() {
+        String hours = "Daily 8:00-20:00, Sun closed";
+        assertTrue(openAt(hours, 5, 19, 30));
+        assertFalse(openAt(hours, 6, 12, 0));
+
+        String split = "Mon-Sat 9am-1pm, 2pm-6pm";
+        assertTrue(openAt(split, 2, 10, 0));
+        assertFalse(openAt(split, 2, 13, 30));
+        assertTrue(openAt(split, 5, 17, 0));
+        assertFalse(openAt(split, 6, 10, 0));
+
+        String list = "Mon, Wed 10am-2pm";
+        assertTrue(openAt(list, 2, 11, 0));
+        assertFalse(openAt(list, 1, 11, 0));
+    }
+
+    @Test
+    void testParse_AlwaysOpenAndOvernight() {
+        assertTrue(openAt("24/7", 6, 3, 0));
+        assertTrue(openAt("Open 24 hours", 2, 23, 55));
+
+        // Sunday night runs into Monday morning
+        assertTrue(openAt("Fri-Sun 8pm-2am", 0, 1, 0));
+        assertFalse(openAt("Fri-Sun 8pm-2am", 1, 1, 0));
+    }
+
+    @Test
+    void testParse_InfersMissingMeridiem() {
+        assertTrue(openAt("9-5pm", 3, 9, 30));
+        assertTrue(openAt("Mon-Fri 9am-5", 0, 16, 0));
+
+        // A bare "9-5" is 9am-5pm, not an overnight 9:00-5:00
+        assertTrue(openAt("Mon-Fri 9-5", 0, 16, 0));
+        assertFalse(openAt("Mon-Fri 9-5", 0, 20, 0));
+        assertFalse(openAt("Mon-Fri 9-5", 1, 3, 0));
+        assertTrue(openAt("Daily 11-1", 2, 12, 30));
+        assertTrue(openAt("Fri 10:00-02:00", 5, 1, 0));
+    }
+
+    @Test
+    void testParse_UnknownTextIsNotGuessed() {
+        assertNull(OperatingHours.parse("Call ahead"));
+        assertNull(OperatingHours.parse("Mon-Fri 9am-5pm, by appointment"));
+        assertNull(OperatingHours.parse(""));
+        assertFalse(OperatingHours.isOpen(null, 0));
+    }
+}
@@ -0,0 +1,132 @@
+package com.civicbridge.service.mail;
+
+import com.civicbridge.model.EmailOutboxMessage;
+import com.civicbridge.repository.jpa.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmailOutboxDispatcherTest {
+
+    private EmailOutboxRepository repository;
+    private RecordingMailSender mailSender;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EmailOutboxRepository.class);
+        mailSender = new RecordingMailSender();
+        dispatcher = new EmailOutboxDispatcher(repository, mailSender,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dispatcher, "fromEmail", "noreply@civicbridge.test");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 100);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 120L);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffSeconds", 3600L);
+        ReflectionTestUtils.setField(dispatcher, "perDomainPerMinute", 60);
+    }
+
+    @Test
+    void testDispatchBatch_SendsWholeBatchOverOneConnection() {
+        List<EmailOutboxMessage> due = messages("a@one.test", "b@two.test", "c@one.test");
+        when(repository.findDueForUpdate(any(), anyInt())).thenReturn(due);
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(1, mailSender.connections.size());
+        assertEquals(3, mailSender.connections.get(0).size());
+        verify(repository).markSent(argThat(ids -> ids.containsAll(List.of(1L, 2L, 3L))), any());
+    }
+
+    @Test
+    void testDispatchBatch_HoldsBackMessagesOverTheDomainLimit() {
+        ReflectionTestUtils.setField(dispatcher, "perDomainPerMinute", 2);
+        List<EmailOutboxMessage> due = messages("a@busy.test", "b@busy.test", "c@busy.test", "d@quiet.test");
+        when(repository.findDueForUpdate(any(), anyInt())).thenReturn(due);
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(List.of("a@busy.test", "b@busy.test", "d@quiet.test"), mailSender.connections.get(0));
+        verify(repository).release(eq(List.of(3L)), argThat(at -> at.isAfter(LocalDateTime.now())));
+    }
+
+    @Test
+    void testDispatch_StopsDrainingOnceMessagesAreHeldBack() {
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 3);
+        ReflectionTestUtils.setField(dispatcher, "perDomainPerMinute", 2);
+        when(repository.findDueForUpdate(any(), anyInt())).thenReturn(
+                messages("a@one.test", "b@two.test", "c@three.test"),
+                messages("d@busy.test", "e@busy.test", "f@busy.test"),
+                messages("g@four.test", "h@five.test", "i@six.test"),
+                List.of());
+
+        dispatcher.dispatch();
+
+        // A full batch with a held message ends the drain; the rest waits for the next poll
+        verify(repository, times(2)).findDueForUpdate(any(), anyInt());
+        assertEquals(2, mailSender.connections.size());
+        assertEquals(List.of("d@busy.test", "e@busy.test"), mailSender.connections.get(1));
+    }
+
+    @Test
+    void testDispatchBatch_RetriesRejectedRecipientWithBackoff() {
+        mailSender.rejected = Set.of("bad@one.test");
+        List<EmailOutboxMessage> due = messages("ok@one.test", "bad@one.test");
+        when(repository.findDueForUpdate(any(), anyInt())).thenReturn(due);
+
+        dispatcher.dispatchBatch();
+
+        verify(repository).markSent(eq(List.of(1L)), any());
+        EmailOutboxMessage bad = due.get(1);
+        assertEquals(1, bad.getAttempts());
+        assertEquals(EmailOutboxMessage.Status.PENDING, bad.getStatus());
+        assertTrue(bad.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(25)));
+        verify(repository).save(bad);
+    }
+
+    @Test
+    void testDispatchBatch_GivesUpAfterMaxAttempts() {
+        mailSender.unreachable = true;
+        List<EmailOutboxMessage> due = messages("a@one.test");
+        due.get(0).setAttempts(2);
+        when(repository.findDueForUpdate(any(), anyInt())).thenReturn(due);
+
+        assertFalse(dispatcher.dispatchBatch());
+
+        assertEquals(EmailOutboxMessage.Status.FAILED, due.get(0).getStatus());
+        verify(repository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void testBackoff_DoublesUpToTheCap() {
+        assertEquals(30, dispatcher.backoffSeconds(1));
+        assertEquals(60, dispatcher.backoffSeconds(2));
+        assertEquals(240, dispatcher.backoffSeconds(4));
+        assertEquals(3600, dispatcher.backoffSeconds(12));
+    }
+
+    private static List<EmailOutboxMessage> messages(String... recipients) {
+        List<EmailOutboxMessage> messages = new ArrayList<>();
+        long id = 1;
+        for (String recipient : recipients) {
+            EmailOutboxMessage message = new EmailOutboxMessage(recipient, "Subject", "Body");
+            message.setId(id++);
+            messages.add(message);
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,56 @@
+package com.civicbridge.service.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-process SMTP stand-in: keeps the real message conversion of JavaMailSenderImpl but records
+ * each connection's messages instead of opening one. Recipients listed in {@code rejected} are
+ * refused the way a server refuses them, inside an otherwise successful batch.
+ */
+class RecordingMailSender extends JavaMailSenderImpl {
+
+    final List<List<String>> connections = new ArrayList<>();
+    Set<String> rejected = Set.of();
+    boolean unreachable;
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        if (unreachable) {
+            throw new MailSendException("Mail server connection failed");
+        }
+        List<String> recipients = new ArrayList<>();
+        Map<Object, Exception> failed = new LinkedHashMap<>();
+        for (int i = 0; i < mimeMessages.length; i++) {
+            String recipient = recipientOf(mimeMessages[i]);
+            if (rejected.contains(recipient)) {
+                failed.put(originalMessages != null ? originalMessages[i] : mimeMessages[i],
+                        new MessagingException("550 mailbox unavailable"));
+            } else {
+                recipients.add(recipient);
+            }
+        }
+        connections.add(recipients);
+        if (!failed.isEmpty()) {
+            throw new MailSendException(failed);
+        }
+    }
+
+    private static String recipientOf(MimeMessage message) {
+        try {
+            Address[] to = message.getAllRecipients();
+            return to[0].toString();
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
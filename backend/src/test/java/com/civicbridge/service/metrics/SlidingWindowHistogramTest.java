@@ -0,0 +1,63 @@
+package com.civicbridge.service.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowHistogramTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void testPercentile_UpperEdgeOfBinWithinBound() {
+        SlidingWindowHistogram histogram = new SlidingWindowHistogram(60, 1000);
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(T0, millis);
+        }
+
+        double p95 = histogram.percentile(T0, 0.95);
+        assertTrue(p95 >= 95 && p95 <= 95 * 1.19, () -> "p95 was " + p95);
+        assertEquals(100, histogram.count(T0));
+    }
+
+    @Test
+    void testWindow_ForgetsSlotsThatSlidOut() {
+        SlidingWindowHistogram histogram = new SlidingWindowHistogram(60, 1000);
+        histogram.record(T0, 2000);
+        histogram.record(T0 + 30_000, 10);
+
+        assertEquals(2, histogram.count(T0 + 59_999));
+        assertEquals(1, histogram.count(T0 + 60_000));
+        assertTrue(histogram.percentile(T0 + 60_000, 0.95) < 20);
+        // The slot of T0 is reused a full window later and must not inherit its old count
+        histogram.record(T0 + 60_000, 10);
+        assertEquals(2, histogram.count(T0 + 60_000));
+        assertNull(histogram.percentile(T0 + 200_000, 0.95));
+    }
+
+    @Test
+    void testCounter_ConcurrentIncrementsAreNotLost() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60, 1000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment(T0 + i % 3000);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertEquals(80_000, counter.sum(T0 + 3000));
+    }
+}
@@ -0,0 +1,48 @@
+package com.civicbridge.service.tags;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceTagsTest {
+
+    @Test
+    void testTokenize_MapsSynonymsToVocabulary() {
+        assertEquals(Set.of("general", "vaccination", "emergency"),
+                ServiceTags.tokenize("General Checkup, Immunisation; Emergency care"));
+        assertEquals(Set.of("maternity", "pediatrics"), ServiceTags.tokenize("Mother and child care / Pediatrics"));
+        assertEquals(Set.of("tuberculosis"), ServiceTags.tokenize("TB treatment"));
+    }
+
+    @Test
+    void testTokenize_SlugsUnknownServicesAndMatchesWholeWords() {
+        assertEquals(Set.of("physiotherapy"), ServiceTags.tokenize("Physiotherapy"));
+        // "tb" must not match inside another word
+        assertEquals(Set.of("stbernard-wing"), ServiceTags.tokenize("StBernard wing"));
+        assertTrue(ServiceTags.tokenize("  ").isEmpty());
+        assertTrue(ServiceTags.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void testEncode_RoundTripsAndMatchesContainsAllPattern() {
+        SortedSet<String> tags = ServiceTags.tokenize("Dental, Vaccination, Emergency");
+        String encoded = ServiceTags.encode(tags);
+
+        assertEquals(",dental,,emergency,,vaccination,", encoded);
+        assertEquals(List.copyOf(tags), ServiceTags.decode(encoded));
+        assertTrue(like(encoded, ServiceTags.containsAllPattern(ServiceTags.normalize(List.of("vaccine", "dental")))));
+        assertTrue(like(encoded, ServiceTags.containsAllPattern(ServiceTags.normalize(List.of("emergency")))));
+        assertFalse(like(encoded, ServiceTags.containsAllPattern(ServiceTags.normalize(List.of("dental", "icu")))));
+        assertNull(ServiceTags.encode(ServiceTags.tokenize("")));
+        assertNull(ServiceTags.containsAllPattern(ServiceTags.normalize(List.of())));
+    }
+
+    // SQL LIKE with only the % wildcard, which is all containsAllPattern produces
+    private static boolean like(String value, String pattern) {
+        return value.matches(pattern.replace("%", ".*"));
+    }
+}
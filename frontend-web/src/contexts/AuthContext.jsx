@@ -31,11 +31,12 @@ export const AuthProvider = ({ children }) => {
     setLoading(true);
     try {
       const response = await authService.login(credentials);
-      const { token, user: userData } = response.data.data;
+      const { token, refreshToken, user: userData } = response.data.data;
 
       setUser(userData);
       localStorage.setItem('user', JSON.stringify(userData));
       localStorage.setItem('token', token);
+      localStorage.setItem('refreshToken', refreshToken);
       return userData;
     } finally {
       setLoading(false);
@@ -43,9 +44,15 @@ export const AuthProvider = ({ children }) => {
   };
 
   const logout = () => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      // Best effort: the local session ends either way
+      authService.logout(refreshToken, localStorage.getItem('token')).catch(() => {});
+    }
     setUser(null);
     localStorage.removeItem('user');
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
   };
 
   const hasRole = (role) => {
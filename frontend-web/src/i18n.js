@@ -54,6 +54,7 @@ const resources = {
       "all_categories": "All Categories",
       "enter_region": "Enter your region",
       "loading": "Loading...",
+      "load_more": "Load more",
       "no_results": "No results found",
       "error": "An error occurred",
       "api_error_404": "Healthcare facility not found.",
@@ -138,6 +139,7 @@ const resources = {
       "all_categories": "Todas las categorías",
       "enter_region": "Ingrese su región",
       "loading": "Cargando...",
+      "load_more": "Cargar más",
       "no_results": "No se encontraron resultados",
       "error": "Ocurrió un error",
       "api_error_404": "Instalación de salud no encontrada.",
@@ -235,6 +237,7 @@ const resources = {
       "all_categories": "सभी श्रेणियां",
       "enter_region": "अपना क्षेत्र दर्ज करें",
       "loading": "लोड हो रहा है...",
+      "load_more": "और लोड करें",
       "no_results": "कोई परिणाम नहीं मिला",
       "error": "एक त्रुटि हुई",
       "api_error_404": "स्वास्थ्य सेवा सुविधा नहीं मिली।",
@@ -9,6 +9,8 @@ import logger from '../utils/logger';
 const Healthcare = () => {
   const { t } = useTranslation();
   const [facilities, setFacilities] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [location, setLocation] = useState(null);
@@ -23,7 +25,9 @@ const Healthcare = () => {
       try {
         setLoading(true);
         const response = await healthcareService.getAll(filters);
-        setFacilities(response.data.data || []);
+        const page = response.data.data || {};
+        setFacilities(page.items || []);
+        setNextCursor(page.nextCursor || null);
         setError(null);
       } catch (err) {
         setError(t('error_loading_facility'));
@@ -36,6 +40,21 @@ const Healthcare = () => {
     fetchFacilities();
   }, [filters, t]);
 
+  const loadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const response = await healthcareService.getAll({ ...filters, cursor: nextCursor });
+      const page = response.data.data || {};
+      setFacilities(prev => [...prev, ...(page.items || [])]);
+      setNextCursor(page.nextCursor || null);
+    } catch (err) {
+      setError(t('error_loading_facility'));
+      logger.error('Failed to load more healthcare facilities', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const findNearby = async () => {
     try {
       setLoading(true);
@@ -49,6 +68,8 @@ const Healthcare = () => {
         10
       );
       setFacilities(response.data.data || []);
+      // Nearby results are not paged
+      setNextCursor(null);
     } catch (err) {
       let errorMessage = t('error_loading_facility');
       if (err.code === 1) { // PERMISSION_DENIED
@@ -152,11 +173,23 @@ const Healthcare = () => {
           !loading && <p>No healthcare facilities found. Try adjusting your filters.</p>
         )}
       </div>
+
+      {!loading && nextCursor && (
+        <div style={styles.loadMore}>
+          <button className="btn" onClick={loadMore} disabled={loadingMore}>
+            {loadingMore ? t('loading') : t('load_more')}
+          </button>
+        </div>
+      )}
     </div>
   );
 };
 
 const styles = {
+  loadMore: {
+    textAlign: 'center',
+    marginTop: '32px'
+  },
   container: {
     paddingTop: '40px',
     paddingBottom: '40px'
@@ -10,6 +10,8 @@ const Programs = () => {
   const { t } = useTranslation();
   const [searchParams] = useSearchParams();
   const [programs, setPrograms] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
 
@@ -43,12 +45,11 @@ const Programs = () => {
       try {
         setLoading(true);
         const response = await programService.getAll(filters);
-        const data = response.data.data || [];
+        const page = response.data.data || {};
 
         // Filter out expired programs
-        const activePrograms = data.filter(program => isProgramActive(program.applicationDeadline));
-
-        setPrograms(activePrograms);
+        setPrograms((page.items || []).filter(program => isProgramActive(program.applicationDeadline)));
+        setNextCursor(page.nextCursor || null);
         setError(null);
       } catch (err) {
         setError(t('error_loading_program')); // Use localized error key if available, or fallback
@@ -60,6 +61,21 @@ const Programs = () => {
     fetchPrograms();
   }, [filters, t]);
 
+  const loadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const response = await programService.getAll({ ...filters, cursor: nextCursor });
+      const page = response.data.data || {};
+      const more = (page.items || []).filter(program => isProgramActive(program.applicationDeadline));
+      setPrograms(prev => [...prev, ...more]);
+      setNextCursor(page.nextCursor || null);
+    } catch (err) {
+      setError(t('error_loading_program'));
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleFilterChange = (e) => {
     const { name, value } = e.target;
     setFilters(prev => ({ ...prev, [name]: value }));
@@ -138,11 +154,23 @@ const Programs = () => {
           )
         )}
       </div>
+
+      {!loading && nextCursor && (
+        <div style={styles.loadMore}>
+          <button className="btn" onClick={loadMore} disabled={loadingMore}>
+            {loadingMore ? t('loading') : t('load_more')}
+          </button>
+        </div>
+      )}
     </div>
   );
 };
 
 const styles = {
+  loadMore: {
+    textAlign: 'center',
+    marginTop: '32px'
+  },
   container: {
     paddingTop: '40px',
     paddingBottom: '40px',
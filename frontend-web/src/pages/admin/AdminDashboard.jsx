@@ -4,7 +4,7 @@ import { useAuth } from '../../contexts/AuthContext';
 import { PlusCircle, FileText, Heart, Activity } from 'lucide-react';
 import SockJS from 'sockjs-client';
 import Stomp from 'stompjs';
-import { adminService, programService, healthcareService } from '../../services/api';
+import { adminService, programService, healthcareService, fetchAllItems } from '../../services/api';
 import { Edit2 } from 'lucide-react';
 
 const AdminDashboard = () => {
@@ -22,14 +22,15 @@ const AdminDashboard = () => {
         const fetchInitialData = async () => {
             try {
                 setLoadingLists(true);
-                const [statsRes, programsRes, facilitiesRes] = await Promise.all([
+                // Admins edit from these lists, so they need every page, not just the first
+                const [statsRes, allPrograms, allFacilities] = await Promise.all([
                     adminService.getStats(),
-                    programService.getAll(),
-                    healthcareService.getAll()
+                    fetchAllItems(programService.getAll),
+                    fetchAllItems(healthcareService.getAll)
                 ]);
                 setDashboardStats(statsRes.data);
-                setPrograms(programsRes.data.data || []);
-                setFacilities(facilitiesRes.data.data || []);
+                setPrograms(allPrograms);
+                setFacilities(allFacilities);
             } catch (error) {
                 console.error("Failed to fetch initial data", error);
             } finally {
@@ -54,8 +55,10 @@ const AdminDashboard = () => {
 
             const stompClient = StompClient.over(socket);
 
-            stompClient.connect({}, () => {
-                stompClient.subscribe('/topic/stats', (message) => {
+            // The admin topic carries the live metrics, so the session has to be authenticated
+            const headers = { Authorization: `Bearer ${localStorage.getItem('token')}` };
+            stompClient.connect(headers, () => {
+                stompClient.subscribe('/topic/admin/stats', (message) => {
                     const updatedStats = JSON.parse(message.body);
                     setDashboardStats(updatedStats);
                 });
@@ -77,6 +80,19 @@ const AdminDashboard = () => {
         { label: 'Active Users', value: dashboardStats.totalUsers, icon: <Activity size={24} color="#059669" /> },
     ];
 
+    // Last-minute activity, pushed every few seconds on /topic/admin/stats
+    const live = dashboardStats.live || {};
+    const liveStats = [
+        { label: 'Queries / min', value: live.queriesPerMinute ?? 0, icon: <Activity size={24} color="#2563eb" /> },
+        { label: 'Applications / min', value: live.applicationsPerMinute ?? 0, icon: <FileText size={24} color="#059669" /> },
+        {
+            label: 'AI Error Rate',
+            value: live.aiProviderErrorRate == null ? '-' : `${(live.aiProviderErrorRate * 100).toFixed(1)}%`,
+            icon: <Activity size={24} color="#dc2626" />
+        },
+    ];
+    const regionLatencies = Object.entries(live.queryLatencyP95MillisByRegion || {});
+
     if (!user || !user.roles || !user.roles.includes('ROLE_ADMIN')) {
         return (
             <div className="container" style={styles.container}>
@@ -120,6 +136,24 @@ const AdminDashboard = () => {
                 ))}
             </div>
 
+            <div style={styles.statsGrid}>
+                {liveStats.map((stat, index) => (
+                    <div key={index} style={styles.statCard}>
+                        <div style={styles.statIcon}>{stat.icon}</div>
+                        <div style={styles.statContent}>
+                            <h3 style={styles.statValue}>{stat.value}</h3>
+                            <p style={styles.statLabel}>{stat.label}</p>
+                        </div>
+                    </div>
+                ))}
+            </div>
+            {regionLatencies.length > 0 && (
+                <p style={styles.statLabel}>
+                    Query latency p95 (last minute):{' '}
+                    {regionLatencies.map(([region, millis]) => `${region} ${Math.round(millis)} ms`).join(' · ')}
+                </p>
+            )}
+
             <div style={styles.actionsSection}>
                 <h2 style={styles.sectionTitle}>Content Management</h2>
                 <div style={styles.actionGrid}>
@@ -32,6 +32,7 @@ const handleApiError = (error) => {
   if (error.response) {
     if (error.response.status === 401) {
       localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
       localStorage.removeItem('user');
       window.location.href = '/login';
     } else {
@@ -44,10 +45,42 @@ const handleApiError = (error) => {
   }
 };
 
+// Refresh tokens are single-use, so concurrent 401s must share one refresh call
+let refreshing = null;
+
+const refreshAccessToken = () => {
+  if (!refreshing) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    refreshing = axios.post(`${API_BASE_URL}${API_ENDPOINTS.AUTH}/refresh`, { refreshToken })
+      .then((response) => {
+        const { token, refreshToken: nextRefreshToken } = response.data.data;
+        localStorage.setItem('token', token);
+        localStorage.setItem('refreshToken', nextRefreshToken);
+        return token;
+      })
+      .finally(() => {
+        refreshing = null;
+      });
+  }
+  return refreshing;
+};
+
 // Add a response interceptor to handle errors
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
+  async (error) => {
+    const original = error.config;
+    // Access tokens are short-lived: renew once and replay the request before giving up
+    if (error.response?.status === 401 && original && !original._retried && localStorage.getItem('refreshToken')) {
+      original._retried = true;
+      try {
+        const token = await refreshAccessToken();
+        original.headers.Authorization = `Bearer ${token}`;
+        return api(original);
+      } catch (refreshError) {
+        localStorage.removeItem('refreshToken');
+      }
+    }
     try {
       handleApiError(error);
     } catch (e) {
@@ -56,6 +89,19 @@ api.interceptors.response.use(
   }
 );
 
+// Follows nextCursor until the last page, for views that need the whole list (e.g. admin editing)
+export const fetchAllItems = async (getPage, params = {}) => {
+  const items = [];
+  let cursor;
+  do {
+    const response = await getPage({ ...params, size: 100, ...(cursor ? { cursor } : {}) });
+    const page = response.data.data || {};
+    items.push(...(page.items || []));
+    cursor = page.nextCursor;
+  } while (cursor);
+  return items;
+};
+
 export const programService = {
   getAll: (params) => api.get(API_ENDPOINTS.PROGRAMS, { params }),
   getById: (id) => api.get(`${API_ENDPOINTS.PROGRAMS}/${id}`),
@@ -79,7 +125,9 @@ export const voiceService = {
 
 export const authService = {
   register: (data) => api.post(`${API_ENDPOINTS.AUTH}/register`, data),
-  login: (data) => api.post(`${API_ENDPOINTS.AUTH}/login`, data)
+  login: (data) => api.post(`${API_ENDPOINTS.AUTH}/login`, data),
+  logout: (refreshToken, token) => api.post(`${API_ENDPOINTS.AUTH}/logout`, { refreshToken },
+    { headers: { Authorization: `Bearer ${token}` } })
 };
 
 export const adminService = {
@@ -47,17 +47,28 @@ class ApiService {
     }
   }
 
+  // Follows nextCursor to the last page; the list screens have no paging of their own
+  Future<List<dynamic>> _getAllPages(String url, Map<String, String> queryParams) async {
+    final items = <dynamic>[];
+    String? cursor;
+    do {
+      final params = {...queryParams, 'size': '200', if (cursor != null) 'cursor': cursor};
+      final response = await _getWithRetry(Uri.parse(url).replace(queryParameters: params));
+      final page = _processResponse(response) as Map<String, dynamic>;
+      items.addAll(page['items'] as List<dynamic>);
+      cursor = page['nextCursor'] as String?;
+    } while (cursor != null);
+    return items;
+  }
+
   // Programs API
   Future<List<Program>> getPrograms({String? category, String? region}) async {
     final queryParams = <String, String>{};
     if (category != null) queryParams['category'] = category;
     if (region != null) queryParams['region'] = region;
     
-    final uri = Uri.parse('$baseUrl/programs').replace(queryParameters: queryParams);
-    
     try {
-      final response = await _getWithRetry(uri);
-      final List<dynamic> programsJson = _processResponse(response) as List<dynamic>;
+      final programsJson = await _getAllPages('$baseUrl/programs', queryParams);
       return programsJson.map((json) => Program.fromJson(json as Map<String, dynamic>)).toList();
     } catch (e) {
       if (e is ApiException) rethrow;
@@ -74,11 +85,8 @@ class ApiService {
     if (type != null) queryParams['type'] = type;
     if (freeServices != null) queryParams['freeServices'] = freeServices.toString();
     
-    final uri = Uri.parse('$baseUrl/healthcare').replace(queryParameters: queryParams);
-    
     try {
-      final response = await _getWithRetry(uri);
-      final List<dynamic> facilitiesJson = _processResponse(response) as List<dynamic>;
+      final facilitiesJson = await _getAllPages('$baseUrl/healthcare', queryParams);
       return facilitiesJson.map((json) => HealthcareFacility.fromJson(json as Map<String, dynamic>)).toList();
     } catch (e) {
       if (e is ApiException) rethrow;